@@ -162,67 +162,67 @@ public class DataInitializer implements CommandLineRunner {
 
         // Electronics Products
         createProduct("iPhone 15 Pro", "Latest Apple iPhone with A17 Pro chip, 48MP camera", "Apple",
-                134900, 10, seller, electronics, "https://images.unsplash.com/photo-1695048133142-1a20484d2569?w=500", 4.8, 5);
+                134900, 10, seller, electronics, "https://images.unsplash.com/photo-1695048133142-1a20484d2569?w=500", 5);
 
         createProduct("Samsung Galaxy S24 Ultra", "Premium Android phone with S Pen and AI features", "Samsung",
-                129999, 15, seller, electronics, "https://images.unsplash.com/photo-1610945265064-0e34e5519bbf?w=500", 4.7, 8);
+                129999, 15, seller, electronics, "https://images.unsplash.com/photo-1610945265064-0e34e5519bbf?w=500", 8);
 
         createProduct("MacBook Air M3", "Thin and light laptop with Apple M3 chip", "Apple",
-                114900, 8, seller, electronics, "https://images.unsplash.com/photo-1517336714731-489689fd1ca8?w=500", 4.9, 0);
+                114900, 8, seller, electronics, "https://images.unsplash.com/photo-1517336714731-489689fd1ca8?w=500", 0);
 
         createProduct("Sony WH-1000XM5", "Premium noise cancelling wireless headphones", "Sony",
-                29990, 25, seller, electronics, "https://images.unsplash.com/photo-1618366712010-f4ae9c647dcb?w=500", 4.6, 15);
+                29990, 25, seller, electronics, "https://images.unsplash.com/photo-1618366712010-f4ae9c647dcb?w=500", 15);
 
         createProduct("iPad Pro 12.9\"", "Powerful tablet with M2 chip and Liquid Retina XDR display", "Apple",
-                112900, 12, seller, electronics, "https://images.unsplash.com/photo-1544244015-0df4b3ffc6b0?w=500", 4.8, 10);
+                112900, 12, seller, electronics, "https://images.unsplash.com/photo-1544244015-0df4b3ffc6b0?w=500", 10);
 
         createProduct("Dell XPS 15", "Premium Windows laptop with OLED display", "Dell",
-                189990, 6, seller, electronics, "https://images.unsplash.com/photo-1593642702821-c8da6771f0c6?w=500", 4.5, 12);
+                189990, 6, seller, electronics, "https://images.unsplash.com/photo-1593642702821-c8da6771f0c6?w=500", 12);
 
         // Fashion Products
         if (fashionSeller != null && fashion != null) {
             createProduct("Premium Cotton T-Shirt", "Comfortable 100% cotton crew neck t-shirt", "Levis",
-                    999, 100, fashionSeller, fashion, "https://images.unsplash.com/photo-1521572163474-6864f9cf17ab?w=500", 4.3, 20);
+                    999, 100, fashionSeller, fashion, "https://images.unsplash.com/photo-1521572163474-6864f9cf17ab?w=500", 20);
 
             createProduct("Slim Fit Jeans", "Classic blue denim jeans with stretch", "Levis",
-                    2499, 50, fashionSeller, fashion, "https://images.unsplash.com/photo-1542272604-787c3835535d?w=500", 4.4, 25);
+                    2499, 50, fashionSeller, fashion, "https://images.unsplash.com/photo-1542272604-787c3835535d?w=500", 25);
 
             createProduct("Running Shoes", "Lightweight sports shoes with cushioned sole", "Nike",
-                    4999, 30, fashionSeller, fashion, "https://images.unsplash.com/photo-1542291026-7eec264c27ff?w=500", 4.6, 30);
+                    4999, 30, fashionSeller, fashion, "https://images.unsplash.com/photo-1542291026-7eec264c27ff?w=500", 30);
 
             createProduct("Leather Wallet", "Genuine leather bifold wallet", "Tommy Hilfiger",
-                    1299, 45, fashionSeller, fashion, "https://images.unsplash.com/photo-1627123424574-724758594e93?w=500", 4.2, 15);
+                    1299, 45, fashionSeller, fashion, "https://images.unsplash.com/photo-1627123424574-724758594e93?w=500", 15);
         }
 
         // Sports Products
         if (sports != null) {
             createProduct("Cricket Bat - English Willow", "Professional grade cricket bat", "MRF",
-                    8999, 20, seller, sports, "https://images.unsplash.com/photo-1531415074968-036ba1b575da?w=500", 4.7, 10);
+                    8999, 20, seller, sports, "https://images.unsplash.com/photo-1531415074968-036ba1b575da?w=500", 10);
 
             createProduct("Yoga Mat Premium", "Non-slip exercise mat with carrying strap", "Boldfit",
-                    1499, 40, seller, sports, "https://images.unsplash.com/photo-1601925260368-ae2f83cf8b7f?w=500", 4.5, 20);
+                    1499, 40, seller, sports, "https://images.unsplash.com/photo-1601925260368-ae2f83cf8b7f?w=500", 20);
 
             createProduct("Dumbbell Set 20kg", "Adjustable dumbbell set for home gym", "Decathlon",
-                    3999, 15, seller, sports, "https://images.unsplash.com/photo-1534438327276-14e5300c3a48?w=500", 4.4, 0);
+                    3999, 15, seller, sports, "https://images.unsplash.com/photo-1534438327276-14e5300c3a48?w=500", 0);
         }
 
         // Home & Living Products
         if (home != null) {
             createProduct("Ergonomic Office Chair", "Adjustable lumbar support and armrests", "IKEA",
-                    12999, 10, seller, home, "https://images.unsplash.com/photo-1580480055273-228ff5388ef8?w=500", 4.6, 18);
+                    12999, 10, seller, home, "https://images.unsplash.com/photo-1580480055273-228ff5388ef8?w=500", 18);
 
             createProduct("LED Desk Lamp", "Dimmable desk lamp with USB charging port", "Philips",
-                    1999, 35, seller, home, "https://images.unsplash.com/photo-1507473885765-e6ed057f782c?w=500", 4.3, 25);
+                    1999, 35, seller, home, "https://images.unsplash.com/photo-1507473885765-e6ed057f782c?w=500", 25);
 
             createProduct("Coffee Maker", "Programmable drip coffee maker 12 cups", "Morphy Richards",
-                    4499, 20, seller, home, "https://images.unsplash.com/photo-1459755486867-b55449bb39ff?w=500", 4.5, 15);
+                    4499, 20, seller, home, "https://images.unsplash.com/photo-1459755486867-b55449bb39ff?w=500", 15);
         }
 
         System.out.println("✅ All products created successfully!");
     }
 
     private void createProduct(String name, String description, String brand, double price, int stock,
-                               User seller, Category category, String imageUrl, double rating, double discount) {
+                               User seller, Category category, String imageUrl, double discount) {
         Product product = new Product();
         product.setName(name);
         product.setDescription(description);
@@ -232,7 +232,7 @@ public class DataInitializer implements CommandLineRunner {
         product.setSeller(seller);
         product.setCategory(category);
         product.setImageUrl(imageUrl);
-        product.setAverageRating(rating);
+        // No rating: the aggregate comes from review rows, which are not seeded
         product.setDiscountPercent(discount);
         // Set createdAt to 7 days ago to bypass premium early-access 24hr filter
         product.setCreatedAt(LocalDateTime.now().minusDays(7));
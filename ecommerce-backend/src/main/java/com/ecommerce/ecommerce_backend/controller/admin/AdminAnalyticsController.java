@@ -4,19 +4,37 @@ import com.ecommerce.ecommerce_backend.dto.admin.AdminAnalyticsDTO;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.admin.AdminAnalyticsService;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
+import com.ecommerce.ecommerce_backend.service.auth.UserIdentityCache;
+import com.ecommerce.ecommerce_backend.service.product.ProductViewPipeline;
+import com.ecommerce.ecommerce_backend.service.user.HotCartStore;
+import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin/analytics")
 public class AdminAnalyticsController {
 
     private final AdminAnalyticsService analyticsService;
     private final AuthService authService;
+    private final AdminAuthUtil adminAuthUtil;
+    private final UserIdentityCache userIdentityCache;
+    private final ProductViewPipeline productViewPipeline;
+    private final HotCartStore hotCartStore;
 
     public AdminAnalyticsController(AdminAnalyticsService analyticsService,
-                                    AuthService authService) {
+                                    AuthService authService,
+                                    AdminAuthUtil adminAuthUtil,
+                                    UserIdentityCache userIdentityCache,
+                                    ProductViewPipeline productViewPipeline,
+                                    HotCartStore hotCartStore) {
         this.analyticsService = analyticsService;
         this.authService = authService;
+        this.adminAuthUtil = adminAuthUtil;
+        this.userIdentityCache = userIdentityCache;
+        this.productViewPipeline = productViewPipeline;
+        this.hotCartStore = hotCartStore;
     }
 
     @GetMapping
@@ -38,6 +56,33 @@ public class AdminAnalyticsController {
         return dto;
     }
 
+    // Identity cache hit/miss counters, for sizing identity.cache.*
+    @GetMapping("/identity-cache")
+    public Map<String, Object> getIdentityCacheStats(
+            @RequestHeader("X-ADMIN-ID") Long adminId) {
+
+        adminAuthUtil.validateAdmin(adminId);
+        return userIdentityCache.getStats();
+    }
+
+    // View pipeline queue depth and drop counters, for sizing product-views.*
+    @GetMapping("/product-views")
+    public Map<String, Object> getProductViewStats(
+            @RequestHeader("X-ADMIN-ID") Long adminId) {
+
+        adminAuthUtil.validateAdmin(adminId);
+        return productViewPipeline.getStats();
+    }
+
+    // Hot cart tier size and hit rate, for sizing cart.cache.*
+    @GetMapping("/hot-carts")
+    public Map<String, Object> getHotCartStats(
+            @RequestHeader("X-ADMIN-ID") Long adminId) {
+
+        adminAuthUtil.validateAdmin(adminId);
+        return hotCartStore.getStats();
+    }
+
     private long extractLong(Object value) {
         if (value instanceof Long) {
             return (Long) value;
@@ -8,6 +8,7 @@ import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/categories")
@@ -26,11 +27,26 @@ public class AdminCategoryController {
     public Category createCategory(
             @RequestHeader("X-ADMIN-ID") Long adminId,
             @RequestBody CategoryRequest cat) {
-        Category category = new Category();
-        category.setName(cat.getName());
-        category.setDescription(cat.getDescription());
         User admin = authService.getUserById(adminId);
-        return categoryService.createCategory(admin, category);
+        return categoryService.createCategory(admin, toCategory(cat));
+    }
+
+    @PutMapping("/{id}")
+    public Category updateCategory(
+            @RequestHeader("X-ADMIN-ID") Long adminId,
+            @PathVariable Long id,
+            @RequestBody CategoryRequest cat) {
+        User admin = authService.getUserById(adminId);
+        return categoryService.updateCategory(admin, id, toCategory(cat));
+    }
+
+    @DeleteMapping("/{id}")
+    public Map<String, String> deleteCategory(
+            @RequestHeader("X-ADMIN-ID") Long adminId,
+            @PathVariable Long id) {
+        User admin = authService.getUserById(adminId);
+        categoryService.deleteCategory(admin, id);
+        return Map.of("message", "Category deleted successfully");
     }
 
     @GetMapping
@@ -40,4 +56,16 @@ public class AdminCategoryController {
         User admin = authService.getUserById(adminId);
         return categoryService.getAllCategories(admin);
     }
+
+    private static Category toCategory(CategoryRequest cat) {
+        Category category = new Category();
+        category.setName(cat.getName());
+        category.setDescription(cat.getDescription());
+        if (cat.getParentId() != null) {
+            Category parent = new Category();
+            parent.setId(cat.getParentId());
+            category.setParentCategory(parent);
+        }
+        return category;
+    }
 }
@@ -43,6 +43,8 @@ public class AdminCouponController {
         coupon.setValidFrom(dto.getValidFrom());
         coupon.setValidUntil(dto.getValidUntil());
         coupon.setUsageLimit(dto.getUsageLimit());
+        coupon.setSellerId(dto.getSellerId());
+        coupon.setCategoryId(dto.getCategoryId());
         coupon.setUsedCount(0);
         coupon.setActive(true);
 
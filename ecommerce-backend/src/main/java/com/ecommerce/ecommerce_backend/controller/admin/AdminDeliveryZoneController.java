@@ -7,7 +7,9 @@ import com.ecommerce.ecommerce_backend.service.admin.AdminDeliveryZoneService;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,6 +34,19 @@ public class AdminDeliveryZoneController {
         return zoneService.addZone(admin, zone);
     }
 
+    // Streams the body: text/csv by default, application/x-ndjson for NDJSON
+    @PostMapping("/import")
+    public Map<String, Object> importZones(
+            @RequestHeader("X-ADMIN-ID") Long adminId,
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            InputStream body) {
+
+        User admin = authService.getUserById(adminId);
+
+        boolean ndjson = contentType != null && contentType.toLowerCase().contains("ndjson");
+        return zoneService.importZones(admin, body, ndjson);
+    }
+
     @GetMapping
     public List<AdminDeliveryZoneDTO> getAllZones(
             @RequestHeader("X-ADMIN-ID") Long adminId) {
@@ -48,6 +63,7 @@ public class AdminDeliveryZoneController {
         AdminDeliveryZoneDTO dto = new AdminDeliveryZoneDTO();
         dto.setZoneId(zone.getId());
         dto.setPincode(zone.getPincode());
+        dto.setPincodeEnd(zone.getPincodeEnd());
         dto.setActive(zone.isActive());
         return dto;
     }
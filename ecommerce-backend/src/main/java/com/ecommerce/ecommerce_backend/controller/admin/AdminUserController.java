@@ -1,6 +1,7 @@
 package com.ecommerce.ecommerce_backend.controller.admin;
 
 import com.ecommerce.ecommerce_backend.dto.admin.AdminUserResponseDTO;
+import com.ecommerce.ecommerce_backend.enums.SubscriptionPlan;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.admin.AdminUserService;
@@ -145,10 +146,11 @@ public class AdminUserController {
     @PostMapping("/{userId}/premium")
     public java.util.Map<String, String> grantPremium(
             @PathVariable Long userId,
+            @RequestParam(defaultValue = "MONTHLY") SubscriptionPlan plan,
             @RequestHeader("X-ADMIN-ID") Long adminId) {
 
         adminAuthUtil.validateAdmin(adminId);
-        adminUserService.grantPremium(userId);
+        adminUserService.grantPremium(userId, plan);
         return java.util.Map.of("message", "Premium granted successfully");
     }
 
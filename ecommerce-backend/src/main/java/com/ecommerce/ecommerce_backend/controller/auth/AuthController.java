@@ -5,8 +5,8 @@ import com.ecommerce.ecommerce_backend.dto.auth.LoginResponseDTO;
 import com.ecommerce.ecommerce_backend.dto.auth.RegisterRequestDTO;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
-import com.ecommerce.ecommerce_backend.repository.PremiumSubscriptionRepository;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
+import com.ecommerce.ecommerce_backend.service.user.PremiumEntitlementService;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,10 +14,10 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
-    private final PremiumSubscriptionRepository premiumSubscriptionRepository;
-    public AuthController(AuthService authService, PremiumSubscriptionRepository premiumSubscriptionRepository) {
+    private final PremiumEntitlementService premiumEntitlementService;
+    public AuthController(AuthService authService, PremiumEntitlementService premiumEntitlementService) {
         this.authService = authService;
-        this.premiumSubscriptionRepository = premiumSubscriptionRepository;
+        this.premiumEntitlementService = premiumEntitlementService;
     }
 
     // =========================
@@ -39,7 +39,7 @@ public class AuthController {
         response.setRole(user.getRole().name());
         response.setName(user.getName());
 
-        response.setPremium(premiumSubscriptionRepository.existsByUserAndActiveTrue(user));
+        response.setPremium(premiumEntitlementService.isPremium(user));
 
 
         return response;
@@ -61,7 +61,7 @@ public class AuthController {
         response.setRole(user.getRole().name());
         response.setName(user.getName());
 
-        response.setPremium(premiumSubscriptionRepository.existsByUserAndActiveTrue(user));
+        response.setPremium(premiumEntitlementService.isPremium(user));
 
         return response;
     }
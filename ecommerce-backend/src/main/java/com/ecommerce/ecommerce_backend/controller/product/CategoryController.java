@@ -1,29 +1,39 @@
 package com.ecommerce.ecommerce_backend.controller.product;
 
 import com.ecommerce.ecommerce_backend.model.Category;
-import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
+import com.ecommerce.ecommerce_backend.service.product.CategoryTree;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/categories")
 public class CategoryController {
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryTree categoryTree;
 
-    public CategoryController(CategoryRepository categoryRepository) {
-        this.categoryRepository = categoryRepository;
+    public CategoryController(CategoryTree categoryTree) {
+        this.categoryTree = categoryTree;
     }
 
     @GetMapping
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryTree.getCategories();
+    }
+
+    // Category menu as a nested tree, served from memory
+    @GetMapping("/menu")
+    public List<Map<String, Object>> getCategoryMenu() {
+        return categoryTree.getMenu();
     }
 
     @GetMapping("/{id}")
     public Category getCategoryById(@PathVariable Long id) {
-        return categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = categoryTree.getCategory(id);
+        if (category == null) {
+            throw new RuntimeException("Category not found");
+        }
+        return category;
     }
 }
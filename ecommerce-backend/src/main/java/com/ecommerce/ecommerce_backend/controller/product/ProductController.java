@@ -3,11 +3,13 @@ package com.ecommerce.ecommerce_backend.controller.product;
 import com.ecommerce.ecommerce_backend.dto.product.ProductComparisonDTO;
 import com.ecommerce.ecommerce_backend.dto.product.ProductResponseDTO;
 import com.ecommerce.ecommerce_backend.dto.product.ProductSearchDTO;
+import com.ecommerce.ecommerce_backend.dto.review.ReviewSummaryDTO;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
-import com.ecommerce.ecommerce_backend.repository.ReviewRepository;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
+import com.ecommerce.ecommerce_backend.service.product.ProductRatingService;
 import com.ecommerce.ecommerce_backend.service.product.ProductService;
+import com.ecommerce.ecommerce_backend.service.product.ProductViewPipeline;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,14 +23,17 @@ public class ProductController {
 
     private final ProductService productService;
     private final AuthService authService;
-    private final ReviewRepository reviewRepository;
+    private final ProductRatingService productRatingService;
+    private final ProductViewPipeline productViewPipeline;
 
     public ProductController(ProductService productService,
                              AuthService authService,
-                             ReviewRepository reviewRepository) {
+                             ProductRatingService productRatingService,
+                             ProductViewPipeline productViewPipeline) {
         this.productService = productService;
         this.authService = authService;
-        this.reviewRepository = reviewRepository;
+        this.productRatingService = productRatingService;
+        this.productViewPipeline = productViewPipeline;
     }
 
 
@@ -41,12 +46,15 @@ public class ProductController {
             @PathVariable Long productId,
             @RequestHeader(value = "X-USER-ID", required = false) Long userId) {
 
-        // user fetched only for validation / future use (optional for guest browsing)
+        // user is optional for guest browsing
         if (userId != null) {
             authService.getUserById(userId);
         }
 
         Product product = productService.getProductById(productId);
+
+        // Recorded in the background; a full queue drops the view instead of slowing the page
+        productViewPipeline.publish(userId, product.getId());
         return mapToResponse(product);
     }
 
@@ -84,15 +92,25 @@ public class ProductController {
                     dto.setName(p.getName());
                     dto.setPrice(p.getPrice());
                     dto.setDescription(p.getDescription());
-                    // Dynamically fetch actual review count and average rating
-                    dto.setRating(reviewRepository.getAverageRatingByProduct(p));
-                    dto.setReviewCount((int) reviewRepository.countByProduct(p));
+                    // Rating aggregates are maintained on the product row
+                    dto.setRating(p.getAverageRating());
+                    dto.setReviewCount(p.getReviewCount());
                     dto.setStock(p.getStockQuantity());
                     dto.setCategoryName(p.getCategory() != null ? p.getCategory().getName() : "Uncategorized");
                     return dto;
                 }).collect(Collectors.toList());
     }
 
+    // =========================
+    // 5️⃣ BATCH RATING SUMMARIES
+    // =========================
+    @GetMapping("/ratings")
+    public List<ReviewSummaryDTO> getRatingSummaries(
+            @RequestParam List<Long> ids) {
+
+        return List.copyOf(productRatingService.getRatingSummaries(ids).values());
+    }
+
     // =========================
     // MAPPER METHOD
     // =========================
@@ -107,12 +125,9 @@ public class ProductController {
         dto.setDiscountPercent(product.getDiscountPercent());
         dto.setStockQuantity(product.getStockQuantity());
 
-        // Dynamically fetch actual review count and average rating from database
-        long actualReviewCount = reviewRepository.countByProduct(product);
-        double actualAverageRating = reviewRepository.getAverageRatingByProduct(product);
-
-        dto.setAverageRating(actualAverageRating);
-        dto.setReviewCount((int) actualReviewCount);
+        // Rating aggregates are maintained on the product row (see ProductRatingService)
+        dto.setAverageRating(product.getAverageRating());
+        dto.setReviewCount(product.getReviewCount());
         dto.setImageUrl(product.getImageUrl());
         dto.setCreatedAt(product.getCreatedAt());
 
@@ -1,11 +1,17 @@
 package com.ecommerce.ecommerce_backend.controller.seller;
 
+import com.ecommerce.ecommerce_backend.dto.seller.SellerDailySalesDTO;
 import com.ecommerce.ecommerce_backend.dto.seller.SellerSalesSummaryDTO;
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import com.ecommerce.ecommerce_backend.service.seller.SellerDashboardService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -32,7 +38,37 @@ public class SellerDashboardController {
         SellerSalesSummaryDTO dto = new SellerSalesSummaryDTO();
         dto.setTotalOrders((int) summary.get("totalOrders"));
         dto.setTotalRevenue((double) summary.get("totalRevenue"));
+        dto.setTotalUnits((long) summary.get("totalUnits"));
+        dto.setTodayOrders((long) summary.get("todayOrders"));
+        dto.setTodayRevenue((double) summary.get("todayRevenue"));
+        dto.setWeekOrders((long) summary.get("weekOrders"));
+        dto.setWeekRevenue((double) summary.get("weekRevenue"));
+        dto.setMonthOrders((long) summary.get("monthOrders"));
+        dto.setMonthRevenue((double) summary.get("monthRevenue"));
 
         return dto;
     }
+
+    /**
+     * Daily sales between two dates (inclusive), e.g. for a chart
+     */
+    @GetMapping("/sales")
+    public List<SellerDailySalesDTO> getDailySales(
+            @RequestHeader("X-SELLER-ID") Long sellerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        User seller = authService.getUserById(sellerId);
+
+        List<SellerDailySalesDTO> days = new ArrayList<>();
+        for (SellerSalesRollup rollup : dashboardService.getDailySales(seller, from, to)) {
+            SellerDailySalesDTO dto = new SellerDailySalesDTO();
+            dto.setDate(rollup.getSalesDate());
+            dto.setOrders(rollup.getOrderCount());
+            dto.setUnits(rollup.getUnitsSold());
+            dto.setRevenue(rollup.getRevenue());
+            days.add(dto);
+        }
+        return days;
+    }
 }
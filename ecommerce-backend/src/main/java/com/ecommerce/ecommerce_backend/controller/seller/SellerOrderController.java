@@ -1,21 +1,22 @@
 package com.ecommerce.ecommerce_backend.controller.seller;
 
+import com.ecommerce.ecommerce_backend.dto.seller.BulkOrderStatusRequestDTO;
+import com.ecommerce.ecommerce_backend.dto.seller.OrderStatusUpdateResultDTO;
 import com.ecommerce.ecommerce_backend.dto.seller.SellerOrderDTO;
 import com.ecommerce.ecommerce_backend.enums.OrderStatus;
-import com.ecommerce.ecommerce_backend.model.OrderItem;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import com.ecommerce.ecommerce_backend.service.seller.SellerOrderService;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/seller/orders")
@@ -35,7 +36,11 @@ public class SellerOrderController {
             @RequestHeader(value = "X-SELLER-ID", required = false) Long sellerId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean cursorPriority,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(required = false) Long cursorId) {
 
         if (sellerId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -48,48 +53,50 @@ public class SellerOrderController {
                     .body(Map.of("message", "Seller not found"));
         }
 
-        // Group order items by order ID to avoid duplicates
-        Map<Long, SellerOrderDTO> orderMap = new LinkedHashMap<>();
-        for (OrderItem item : orderService.getSellerOrders(seller)) {
-            Long orderId = item.getOrder().getId();
-            if (!orderMap.containsKey(orderId)) {
-                orderMap.put(orderId, mapToDto(item));
-            } else {
-                // Increment item count for existing order
-                SellerOrderDTO existing = orderMap.get(orderId);
-                existing.setItemCount(existing.getItemCount() + 1);
-            }
-        }
-        List<SellerOrderDTO> allOrders = new ArrayList<>(orderMap.values());
-
-        // Filter by status if provided
+        // Resolve status filter (applied in the query, not in memory)
+        OrderStatus orderStatus = null;
         if (status != null && !status.trim().isEmpty()) {
             try {
-                OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-                allOrders = allOrders.stream()
-                        .filter(order -> order.getStatus().equals(orderStatus.name()))
-                        .collect(Collectors.toList());
+                orderStatus = OrderStatus.valueOf(status.toUpperCase());
             } catch (IllegalArgumentException e) {
                 // Invalid status, ignore filter
             }
         }
 
-        // Manual pagination
-        int totalElements = allOrders.size();
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalElements);
-        List<SellerOrderDTO> paginatedOrders = startIndex < totalElements
-                ? allOrders.subList(startIndex, endIndex)
-                : List.of();
+        if (size <= 0) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Page size must be greater than 0"));
+        }
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", paginatedOrders);
-        response.put("totalElements", totalElements);
-        response.put("totalPages", (int) Math.ceil((double) totalElements / size));
-        response.put("size", size);
-        response.put("number", page);
-        response.put("first", page == 0);
-        response.put("last", endIndex >= totalElements);
+        List<SellerOrderDTO> queue;
+
+        if (cursorPriority != null && cursorDate != null && cursorId != null) {
+            // Keyset mode: seek past (cursorPriority, cursorDate, cursorId), no count query
+            queue = orderService.getSellerQueueAfter(seller, orderStatus,
+                    cursorPriority, cursorDate, cursorId, size);
+            response.put("size", size);
+            response.put("first", false);
+            response.put("last", queue.size() < size);
+        } else {
+            Page<SellerOrderDTO> queuePage = orderService.getSellerQueue(seller, orderStatus, Math.max(page, 0), size);
+            queue = queuePage.getContent();
+            response.put("totalElements", queuePage.getTotalElements());
+            response.put("totalPages", queuePage.getTotalPages());
+            response.put("size", size);
+            response.put("number", queuePage.getNumber());
+            response.put("first", queuePage.isFirst());
+            response.put("last", queuePage.isLast());
+        }
+        response.put("content", queue);
+
+        // Cursor for the next keyset page
+        if (!queue.isEmpty()) {
+            SellerOrderDTO lastEntry = queue.get(queue.size() - 1);
+            response.put("nextCursorPriority", lastEntry.getIsPremiumOrder());
+            response.put("nextCursorDate", lastEntry.getCreatedAt());
+            response.put("nextCursorId", lastEntry.getId());
+        }
 
         return ResponseEntity.ok(response);
     }
@@ -133,18 +140,49 @@ public class SellerOrderController {
         }
     }
 
-    private SellerOrderDTO mapToDto(OrderItem item) {
-        SellerOrderDTO dto = new SellerOrderDTO();
-        dto.setId(item.getOrder().getId());
-        dto.setOrderItemId(item.getId());
-        dto.setOrderNumber("ORD-" + item.getOrder().getId());
-        dto.setProductName(item.getProduct().getName());
-        dto.setQuantity(item.getQuantity());
-        dto.setPrice(item.getPrice());
-        dto.setTotal(item.getOrder().getFinalAmount());
-        dto.setStatus(item.getOrder().getStatus().name());
-        dto.setIsPremiumOrder(item.getOrder().isPriority());
-        dto.setCreatedAt(item.getOrder().getOrderDate());
-        return dto;
+    /**
+     * Confirm or ship many orders in one request; each order gets its own result
+     */
+    @PutMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(
+            @RequestHeader(value = "X-SELLER-ID", required = false) Long sellerId,
+            @RequestBody BulkOrderStatusRequestDTO request) {
+
+        if (sellerId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Seller authentication required"));
+        }
+
+        User seller = authService.getUserById(sellerId);
+        if (seller == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "Seller not found"));
+        }
+
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Status is required"));
+        }
+
+        try {
+            OrderStatus newStatus = OrderStatus.valueOf(request.getStatus().toUpperCase());
+            List<OrderStatusUpdateResultDTO> results =
+                    orderService.updateOrderStatuses(seller, request.getOrderIds(), newStatus);
+
+            long updated = results.stream().filter(OrderStatusUpdateResultDTO::isSuccess).count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", newStatus.name());
+            response.put("updated", updated);
+            response.put("failed", results.size() - updated);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Invalid status: " + request.getStatus()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
 }
@@ -9,6 +9,7 @@ import com.ecommerce.ecommerce_backend.service.user.AddressService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -43,6 +44,16 @@ public class AddressController {
         return mapToDto(saved);
     }
 
+    // Bulk check, e.g. for validating an address book or a pasted list
+    @GetMapping("/serviceable")
+    public Map<String, Boolean> checkServiceability(
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam List<String> pincodes) {
+
+        authService.getUserById(userId);
+        return addressService.checkServiceability(pincodes);
+    }
+
     @GetMapping
     public List<AddressResponseDTO> getAddresses(
             @RequestHeader("X-USER-ID") Long userId) {
@@ -64,6 +75,7 @@ public class AddressController {
         dto.setState(address.getState());
         dto.setPincode(address.getPincode());
         dto.setDefault(address.isDefault());
+        dto.setServiceable(addressService.isServiceable(address.getPincode()));
         return dto;
     }
 }
@@ -1,15 +1,11 @@
 package com.ecommerce.ecommerce_backend.controller.user;
 
 import com.ecommerce.ecommerce_backend.dto.cart.*;
-import com.ecommerce.ecommerce_backend.model.CartItem;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import com.ecommerce.ecommerce_backend.service.user.CartService;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/user/cart")
 public class CartController {
@@ -29,42 +25,19 @@ public class CartController {
             @RequestBody AddToCartDTO dto) {
 
         User user = authService.getUserById(userId);
-        cartService.addItem(user, dto.getProductId(), dto.getQuantity());
 
-        // Return updated cart
-        return viewCart(userId);
+        // Returns the updated cart
+        return cartService.addItem(user, dto.getProductId(), dto.getQuantity());
     }
 
     @GetMapping
     public CartResponseDTO viewCart(
-            @RequestHeader("X-USER-ID") Long userId) {
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam(required = false) String coupons) {
 
+        // Discount only from the coupon codes the customer entered
         User user = authService.getUserById(userId);
-
-        List<CartItem> items = cartService.getCartItems(user);
-
-        List<CartItemDTO> itemDTOs = items.stream().map(item -> {
-            CartItemDTO dto = new CartItemDTO();
-            dto.setCartItemId(item.getId());
-            dto.setProductId(item.getProduct().getId());
-            dto.setProductName(item.getProduct().getName());
-            dto.setImageUrl(item.getProduct().getImageUrl());
-            dto.setBrand(item.getProduct().getBrand());
-            dto.setPrice(item.getProduct().getPrice());
-            dto.setQuantity(item.getQuantity());
-            dto.setSubtotal(item.getQuantity() * item.getProduct().getPrice());
-            return dto;
-        }).collect(Collectors.toList());
-
-        CartResponseDTO response = new CartResponseDTO();
-        response.setItems(itemDTOs);
-        response.setTotalAmount(
-                itemDTOs.stream().mapToDouble(CartItemDTO::getSubtotal).sum()
-        );
-        response.setDiscountAmount(0);
-        response.setFinalAmount(response.getTotalAmount());
-
-        return response;
+        return cartService.viewCart(user, coupons);
     }
 
     @DeleteMapping("/clear")
@@ -82,10 +55,9 @@ public class CartController {
             @RequestBody UpdateCartItemDTO dto) {
 
         User user = authService.getUserById(userId);
-        cartService.updateItemQuantity(user, cartItemId, dto.getQuantity());
 
-        // Return updated cart
-        return viewCart(userId);
+        // Returns the updated cart
+        return cartService.updateItemQuantity(user, cartItemId, dto.getQuantity());
     }
 
     @DeleteMapping("/{cartItemId}")
@@ -94,9 +66,8 @@ public class CartController {
             @PathVariable Long cartItemId) {
 
         User user = authService.getUserById(userId);
-        cartService.removeItem(user, cartItemId);
 
-        // Return updated cart
-        return viewCart(userId);
+        // Returns the updated cart
+        return cartService.removeItem(user, cartItemId);
     }
 }
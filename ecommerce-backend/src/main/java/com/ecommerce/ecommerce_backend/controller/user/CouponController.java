@@ -2,6 +2,9 @@ package com.ecommerce.ecommerce_backend.controller.user;
 
 import com.ecommerce.ecommerce_backend.dto.coupon.ApplyCouponDTO;
 import com.ecommerce.ecommerce_backend.dto.coupon.CouponResponseDTO;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.service.auth.AuthService;
+import com.ecommerce.ecommerce_backend.service.user.CartService;
 import com.ecommerce.ecommerce_backend.service.user.CouponService;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,13 +13,28 @@ import org.springframework.web.bind.annotation.*;
 public class CouponController {
 
     private final CouponService couponService;
+    private final CartService cartService;
+    private final AuthService authService;
 
-    public CouponController(CouponService couponService) {
+    public CouponController(CouponService couponService,
+                            CartService cartService,
+                            AuthService authService) {
         this.couponService = couponService;
+        this.cartService = cartService;
+        this.authService = authService;
     }
 
     @PostMapping("/apply")
-    public CouponResponseDTO applyCoupon(@RequestBody ApplyCouponDTO dto) {
-        return couponService.applyCoupon(dto.getCouponCode());
+    public CouponResponseDTO applyCoupon(
+            @RequestHeader(value = "X-USER-ID", required = false) Long userId,
+            @RequestBody ApplyCouponDTO dto) {
+
+        // Checked against the given amount, else the caller's cart lines
+        if (dto.getOrderAmount() == null && userId != null) {
+            User user = authService.getUserById(userId);
+            return couponService.applyCoupon(dto.getCouponCode(), cartService.viewCart(user).getItems());
+        }
+        double orderAmount = dto.getOrderAmount() != null ? dto.getOrderAmount() : 0;
+        return couponService.applyCoupon(dto.getCouponCode(), orderAmount);
     }
 }
@@ -3,15 +3,22 @@ package com.ecommerce.ecommerce_backend.controller.user;
 import com.ecommerce.ecommerce_backend.dto.order.*;
 import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.model.Order;
+import com.ecommerce.ecommerce_backend.model.StockReservation;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.model.UserAddress;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
+import com.ecommerce.ecommerce_backend.service.product.InventoryReservationService;
 import com.ecommerce.ecommerce_backend.service.user.AddressService;
+import com.ecommerce.ecommerce_backend.service.user.CouponRejectedException;
 import com.ecommerce.ecommerce_backend.service.user.OrderService;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,13 +30,16 @@ public class OrderController {
     private final OrderService orderService;
     private final AddressService addressService;
     private final AuthService authService;
+    private final InventoryReservationService inventoryReservationService;
 
     public OrderController(OrderService orderService,
                            AddressService addressService,
-                           AuthService authService) {
+                           AuthService authService,
+                           InventoryReservationService inventoryReservationService) {
         this.orderService = orderService;
         this.addressService = addressService;
         this.authService = authService;
+        this.inventoryReservationService = inventoryReservationService;
     }
 
     @PostMapping
@@ -133,13 +143,16 @@ public class OrderController {
             response.setSubtotal(order.getTotalAmount());
             response.setTax(0); // Calculate if needed
             response.setDeliveryFee(order.getDeliveryCharge());
-            response.setDiscount(0); // Apply coupon discount if needed
+            response.setDiscount(order.getDiscountAmount());
             response.setTotal(order.getFinalAmount());
             response.setIsPremiumOrder(order.isPriority());
             response.setCreatedAt(order.getOrderDate());
 
             return ResponseEntity.ok(response);
 
+        } catch (CouponRejectedException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
         } catch (RuntimeException e) {
             // Handle specific runtime exceptions with appropriate status codes
             String message = e.getMessage();
@@ -152,6 +165,10 @@ public class OrderController {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND)
                             .body(Map.of("message", message));
                 }
+                if (message.contains("Insufficient stock")) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(Map.of("message", message));
+                }
                 if (message.contains("premium")) {
                     return ResponseEntity.status(HttpStatus.FORBIDDEN)
                             .body(Map.of("message", message));
@@ -166,12 +183,60 @@ public class OrderController {
         }
     }
 
+    // Hold the cart's stock while the user completes checkout
+    @PostMapping("/reservation")
+    public ResponseEntity<?> reserveCart(@RequestHeader("X-USER-ID") Long userId) {
+        try {
+            User user = authService.getUserById(userId);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "User not found"));
+            }
+
+            List<StockReservation> holds = orderService.reserveCart(user);
+
+            return ResponseEntity.ok(Map.of(
+                    "reservedProducts", holds.size(),
+                    "expiresAt", holds.get(0).getExpiresAt()
+            ));
+        } catch (RuntimeException e) {
+            String message = e.getMessage();
+            if (message != null && message.contains("Insufficient stock")) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", message));
+            }
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", message != null ? message : "Failed to reserve stock"));
+        }
+    }
+
+    // Abandon checkout: give held stock back
+    @DeleteMapping("/reservation")
+    public ResponseEntity<?> releaseReservation(@RequestHeader("X-USER-ID") Long userId) {
+        try {
+            User user = authService.getUserById(userId);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "User not found"));
+            }
+
+            int released = inventoryReservationService.release(user);
+            return ResponseEntity.ok(Map.of("releasedProducts", released));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping
     public ResponseEntity<?> getOrders(
             @RequestHeader("X-USER-ID") Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(required = false) Long cursorId) {
 
         try {
             User user = authService.getUserById(userId);
@@ -180,29 +245,44 @@ public class OrderController {
                         .body(Map.of("message", "User not found"));
             }
 
-            List<Order> orders = orderService.getOrders(user);
-
-            // Filter by status if provided
+            // Resolve status filter (applied in the query, not in memory)
+            OrderStatus orderStatus = null;
             if (status != null && !status.trim().isEmpty()) {
                 try {
-                    OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-                    orders = orders.stream()
-                            .filter(order -> order.getStatus() == orderStatus)
-                            .collect(Collectors.toList());
+                    orderStatus = OrderStatus.valueOf(status.toUpperCase());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.badRequest()
                             .body(Map.of("message", "Invalid order status: " + status + ". Valid values are: PLACED, CONFIRMED, SHIPPED, DELIVERED, CANCELLED, RETURN_REQUESTED, RETURN_APPROVED, RETURN_REJECTED, REFUNDED"));
                 }
             }
 
-            // Apply pagination
-            int totalElements = orders.size();
-            int startIndex = page * size;
-            int endIndex = Math.min(startIndex + size, totalElements);
-            List<Order> paginatedOrders = orders.subList(startIndex, endIndex);
+            if (size <= 0) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("message", "Page size must be greater than 0"));
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            List<Order> pageOrders;
+
+            if (cursorDate != null && cursorId != null) {
+                // Keyset mode: seek past (cursorDate, cursorId), no count query
+                pageOrders = orderService.getOrdersAfter(user, orderStatus, cursorDate, cursorId, size);
+                response.put("size", size);
+                response.put("first", false);
+                response.put("last", pageOrders.size() < size);
+            } else {
+                Page<Order> orderPage = orderService.getOrders(user, orderStatus, Math.max(page, 0), size);
+                pageOrders = orderPage.getContent();
+                response.put("totalElements", orderPage.getTotalElements());
+                response.put("totalPages", orderPage.getTotalPages());
+                response.put("size", size);
+                response.put("number", orderPage.getNumber());
+                response.put("first", orderPage.isFirst());
+                response.put("last", orderPage.isLast());
+            }
 
             // Convert to DTOs with items
-            List<OrderResponseDTO> orderDTOs = paginatedOrders.stream()
+            List<OrderResponseDTO> orderDTOs = pageOrders.stream()
                     .map(order -> {
                         OrderResponseDTO dto = new OrderResponseDTO();
                         dto.setId(order.getId());
@@ -213,7 +293,7 @@ public class OrderController {
                         dto.setSubtotal(order.getTotalAmount());
                         dto.setTax(0); // Calculate if needed
                         dto.setDeliveryFee(order.getDeliveryCharge());
-                        dto.setDiscount(0); // Apply coupon discount if needed
+                        dto.setDiscount(order.getDiscountAmount());
                         dto.setTotal(order.getFinalAmount());
                         dto.setIsPremiumOrder(order.isPriority());
                         dto.setCreatedAt(order.getOrderDate());
@@ -223,15 +303,14 @@ public class OrderController {
                         return dto;
                     }).collect(Collectors.toList());
 
-            Map<String, Object> response = Map.of(
-                    "content", orderDTOs,
-                    "totalElements", totalElements,
-                    "totalPages", (int) Math.ceil((double) totalElements / size),
-                    "size", size,
-                    "number", page,
-                    "first", page == 0,
-                    "last", endIndex >= totalElements
-            );
+            response.put("content", orderDTOs);
+
+            // Cursor for the next keyset page (the last row of this page)
+            if (!pageOrders.isEmpty()) {
+                Order lastOrder = pageOrders.get(pageOrders.size() - 1);
+                response.put("nextCursorDate", lastOrder.getOrderDate());
+                response.put("nextCursorId", lastOrder.getId());
+            }
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -6,12 +6,16 @@ import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import com.ecommerce.ecommerce_backend.service.user.ReviewService;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/user/reviews")
@@ -43,37 +47,66 @@ public class ReviewController {
     }
 
     @GetMapping("/{productId}")
-    public Map<String, Object> getReviews(
+    public ResponseEntity<?> getReviews(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
-        Product product = new Product();
-        product.setId(productId);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(required = false) Long cursorId) {
+
+        if (size <= 0) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Page size must be greater than 0"));
+        }
+
+        try {
+            Map<String, Object> response = new HashMap<>();
+            List<ReviewResponseDTO> reviews;
+
+            if (cursorDate != null && cursorId != null) {
+                // Keyset mode: seek past (cursorDate, cursorId)
+                reviews = reviewService.getProductReviewsAfter(productId, cursorDate, cursorId, size);
+                response.put("size", size);
+                response.put("first", false);
+                response.put("last", reviews.size() < size);
+            } else {
+                Page<ReviewResponseDTO> reviewPage = reviewService.getProductReviews(productId, Math.max(page, 0), size);
+                reviews = reviewPage.getContent();
+                response.put("totalElements", reviewPage.getTotalElements());
+                response.put("totalPages", reviewPage.getTotalPages());
+                response.put("size", size);
+                response.put("number", reviewPage.getNumber());
+                response.put("first", reviewPage.isFirst());
+                response.put("last", reviewPage.isLast());
+            }
+            response.put("content", reviews);
+
+            // Cursor for the next keyset page
+            if (!reviews.isEmpty()) {
+                ReviewResponseDTO last = reviews.get(reviews.size() - 1);
+                response.put("nextCursorDate", last.getCreatedAt());
+                response.put("nextCursorId", last.getId());
+            }
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
 
-        List<ReviewResponseDTO> allReviews = reviewService.getProductReviews(product)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
-
-        // Manual pagination
-        int totalElements = allReviews.size();
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalElements);
-        List<ReviewResponseDTO> paginatedReviews = startIndex < totalElements
-                ? allReviews.subList(startIndex, endIndex)
-                : List.of();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("content", paginatedReviews);
-        response.put("totalElements", totalElements);
-        response.put("totalPages", (int) Math.ceil((double) totalElements / size));
-        response.put("size", size);
-        response.put("number", page);
-        response.put("first", page == 0);
-        response.put("last", endIndex >= totalElements);
-
-        return response;
+    /**
+     * Average rating, review count and 1-5 star histogram, from stored aggregates
+     */
+    @GetMapping("/{productId}/summary")
+    public ResponseEntity<?> getReviewSummary(@PathVariable Long productId) {
+        try {
+            return ResponseEntity.ok(reviewService.getReviewSummary(productId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/{productId}/can-review")
@@ -1,20 +1,26 @@
 package com.ecommerce.ecommerce_backend.controller.user;
 
+import com.ecommerce.ecommerce_backend.dto.wishlist.BulkWishlistRequestDTO;
 import com.ecommerce.ecommerce_backend.dto.wishlist.WishlistItemDTO;
 import com.ecommerce.ecommerce_backend.dto.wishlist.WishlistResponseDTO;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.service.auth.AuthService;
 import com.ecommerce.ecommerce_backend.service.user.WishlistService;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/user/wishlist")
 public class WishlistController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final WishlistService wishlistService;
     private final AuthService authService;
 
@@ -50,33 +56,71 @@ public class WishlistController {
         wishlistService.removeFromWishlist(user, product);
     }
 
+    /**
+     * Add many products in one batch; returns how many were newly added
+     */
+    @PostMapping("/bulk")
+    public Map<String, Object> addAllToWishlist(
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestBody BulkWishlistRequestDTO request) {
+
+        User user = authService.getUserById(userId);
+
+        int added = wishlistService.addToWishlist(user, request.getProductIds());
+        return Map.of("added", added);
+    }
+
+    /**
+     * Remove many products in one statement; returns how many were removed
+     */
+    @DeleteMapping("/bulk")
+    public Map<String, Object> removeAllFromWishlist(
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam List<Long> productIds) {
+
+        User user = authService.getUserById(userId);
+
+        int removed = wishlistService.removeFromWishlist(user, productIds);
+        return Map.of("removed", removed);
+    }
+
+    /**
+     * productId -> in wishlist, for marking hearts on a listing page with one query
+     */
+    @GetMapping("/contains")
+    public Map<Long, Boolean> containsProducts(
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam List<Long> productIds) {
+
+        User user = authService.getUserById(userId);
+
+        Set<Long> wishlisted = wishlistService.getWishlistedProductIds(user, productIds);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            result.put(productId, wishlisted.contains(productId));
+        }
+        return result;
+    }
+
     @GetMapping
     public WishlistResponseDTO getWishlist(
-            @RequestHeader("X-USER-ID") Long userId) {
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
 
         User user = authService.getUserById(userId);
 
-        List<WishlistItemDTO> items = wishlistService.getWishlist(user)
-                .stream()
-                .map(w -> {
-                    Product product = w.getProduct();
-                    WishlistItemDTO dto = new WishlistItemDTO();
-                    dto.setProductId(product.getId());
-                    dto.setProductName(product.getName());
-                    dto.setDescription(product.getDescription());
-                    dto.setPrice(product.getPrice());
-                    dto.setOriginalPrice(product.getOriginalPrice());
-                    dto.setRating(product.getAverageRating());
-                    dto.setImageUrl(product.getImageUrl());
-                    dto.setStockQuantity(product.getStockQuantity());
-                    dto.setCategoryName(product.getCategory() != null ? product.getCategory().getName() : null);
-                    dto.setDiscountPercent(product.getDiscountPercent());
-                    dto.setPremiumEarlyAccess(product.getPremiumEarlyAccess());
-                    return dto;
-                }).collect(Collectors.toList());
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Slice<WishlistItemDTO> items = wishlistService.getWishlistItems(user, Math.max(page, 0), size);
 
         WishlistResponseDTO response = new WishlistResponseDTO();
-        response.setItems(items);
+        response.setItems(items.getContent());
+        response.setPage(items.getNumber());
+        response.setSize(size);
+        response.setHasNext(items.hasNext());
         return response;
     }
 }
@@ -9,6 +9,7 @@ public class AddressResponseDTO {
     private String state;
     private String pincode;
     private boolean isDefault;
+    private boolean serviceable;
 
     public AddressResponseDTO() {}
 
@@ -32,4 +33,7 @@ public class AddressResponseDTO {
 
     public boolean isDefault() { return isDefault; }
     public void setDefault(boolean aDefault) { isDefault = aDefault; }
+
+    public boolean isServiceable() { return serviceable; }
+    public void setServiceable(boolean serviceable) { this.serviceable = serviceable; }
 }
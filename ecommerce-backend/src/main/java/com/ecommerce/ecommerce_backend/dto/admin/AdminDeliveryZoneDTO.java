@@ -4,6 +4,7 @@ public class AdminDeliveryZoneDTO {
 
     private Long zoneId;
     private String pincode;
+    private String pincodeEnd;
     private boolean active;
 
     public AdminDeliveryZoneDTO() {}
@@ -14,6 +15,9 @@ public class AdminDeliveryZoneDTO {
     public String getPincode() { return pincode; }
     public void setPincode(String pincode) { this.pincode = pincode; }
 
+    public String getPincodeEnd() { return pincodeEnd; }
+    public void setPincodeEnd(String pincodeEnd) { this.pincodeEnd = pincodeEnd; }
+
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 }
@@ -0,0 +1,49 @@
+package com.ecommerce.ecommerce_backend.dto.admin;
+
+import java.time.LocalDateTime;
+
+public class CreateCouponDTO {
+
+    private String code;
+    private String discountType;
+    private double discountValue;
+    private double minOrderValue;
+    private Double maxDiscount;
+    private LocalDateTime validFrom;
+    private LocalDateTime validUntil;
+    private int usageLimit;
+    private Long sellerId;
+    private Long categoryId;
+
+    public CreateCouponDTO() {}
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getDiscountType() { return discountType; }
+    public void setDiscountType(String discountType) { this.discountType = discountType; }
+
+    public double getDiscountValue() { return discountValue; }
+    public void setDiscountValue(double discountValue) { this.discountValue = discountValue; }
+
+    public double getMinOrderValue() { return minOrderValue; }
+    public void setMinOrderValue(double minOrderValue) { this.minOrderValue = minOrderValue; }
+
+    public Double getMaxDiscount() { return maxDiscount; }
+    public void setMaxDiscount(Double maxDiscount) { this.maxDiscount = maxDiscount; }
+
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+
+    public LocalDateTime getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDateTime validUntil) { this.validUntil = validUntil; }
+
+    public int getUsageLimit() { return usageLimit; }
+    public void setUsageLimit(int usageLimit) { this.usageLimit = usageLimit; }
+
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+}
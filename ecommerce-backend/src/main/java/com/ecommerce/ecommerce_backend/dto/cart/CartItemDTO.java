@@ -7,12 +7,29 @@ public class CartItemDTO {
     private String productName;
     private String imageUrl;
     private String brand;
+    private Long sellerId;
+    private Long categoryId;
     private double price;
     private int quantity;
     private double subtotal;
 
     public CartItemDTO() {}
 
+    // Used by the JPQL projection in CartItemRepository; subtotal is derived
+    public CartItemDTO(Long cartItemId, Long productId, String productName, String imageUrl,
+                       String brand, Long sellerId, Long categoryId, double price, int quantity) {
+        this.cartItemId = cartItemId;
+        this.productId = productId;
+        this.productName = productName;
+        this.imageUrl = imageUrl;
+        this.brand = brand;
+        this.sellerId = sellerId;
+        this.categoryId = categoryId;
+        this.price = price;
+        this.quantity = quantity;
+        this.subtotal = price * quantity;
+    }
+
     public Long getCartItemId() { return cartItemId; }
     public void setCartItemId(Long cartItemId) { this.cartItemId = cartItemId; }
 
@@ -28,6 +45,12 @@ public class CartItemDTO {
     public String getBrand() { return brand; }
     public void setBrand(String brand) { this.brand = brand; }
 
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
     public double getPrice() { return price; }
     public void setPrice(double price) { this.price = price; }
 
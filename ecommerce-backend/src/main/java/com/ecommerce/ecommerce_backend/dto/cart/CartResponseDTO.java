@@ -8,6 +8,7 @@ public class CartResponseDTO {
     private double totalAmount;
     private double discountAmount;
     private double finalAmount;
+    private String appliedCoupon;
 
     public CartResponseDTO() {}
 
@@ -22,4 +23,7 @@ public class CartResponseDTO {
 
     public double getFinalAmount() { return finalAmount; }
     public void setFinalAmount(double finalAmount) { this.finalAmount = finalAmount; }
+
+    public String getAppliedCoupon() { return appliedCoupon; }
+    public void setAppliedCoupon(String appliedCoupon) { this.appliedCoupon = appliedCoupon; }
 }
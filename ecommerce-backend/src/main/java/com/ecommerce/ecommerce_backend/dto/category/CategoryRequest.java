@@ -4,6 +4,7 @@ public class CategoryRequest {
 
     private String name;
     private String description;
+    private Long parentId;
 
     public String getName() {
         return name;
@@ -20,4 +21,12 @@ public class CategoryRequest {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
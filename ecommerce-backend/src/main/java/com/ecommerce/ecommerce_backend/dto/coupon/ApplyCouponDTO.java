@@ -3,9 +3,13 @@ package com.ecommerce.ecommerce_backend.dto.coupon;
 public class ApplyCouponDTO {
 
     private String couponCode;
+    private Double orderAmount;
 
     public ApplyCouponDTO() {}
 
     public String getCouponCode() { return couponCode; }
     public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
+
+    public Double getOrderAmount() { return orderAmount; }
+    public void setOrderAmount(Double orderAmount) { this.orderAmount = orderAmount; }
 }
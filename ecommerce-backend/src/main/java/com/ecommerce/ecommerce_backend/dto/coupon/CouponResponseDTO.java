@@ -5,6 +5,7 @@ public class CouponResponseDTO {
     private String code;
     private double discountAmount;
     private boolean applied;
+    private String message;
 
     public CouponResponseDTO() {}
 
@@ -16,4 +17,7 @@ public class CouponResponseDTO {
 
     public boolean isApplied() { return applied; }
     public void setApplied(boolean applied) { this.applied = applied; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
 }
@@ -13,6 +13,16 @@ public class ReviewResponseDTO {
 
     public ReviewResponseDTO() {}
 
+    public ReviewResponseDTO(Long id, String userName, int rating, String comment,
+                             LocalDateTime createdAt, boolean verifiedPurchase) {
+        this.id = id;
+        this.userName = userName;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.verifiedPurchase = verifiedPurchase;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
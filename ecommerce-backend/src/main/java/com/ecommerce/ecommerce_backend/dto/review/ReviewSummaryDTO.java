@@ -1,15 +1,45 @@
 package com.ecommerce.ecommerce_backend.dto.review;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class ReviewSummaryDTO {
 
+    private Long productId;
     private double averageRating;
     private int totalReviews;
 
+    // star (1-5) -> number of reviews
+    private Map<Integer, Integer> ratingHistogram;
+
     public ReviewSummaryDTO() {}
 
+    public ReviewSummaryDTO(Long productId, double averageRating, int totalReviews) {
+        this.productId = productId;
+        this.averageRating = averageRating;
+        this.totalReviews = totalReviews;
+    }
+
+    public ReviewSummaryDTO(Long productId, double averageRating, int totalReviews,
+                            int oneStar, int twoStar, int threeStar, int fourStar, int fiveStar) {
+        this(productId, averageRating, totalReviews);
+        this.ratingHistogram = new LinkedHashMap<>();
+        this.ratingHistogram.put(1, oneStar);
+        this.ratingHistogram.put(2, twoStar);
+        this.ratingHistogram.put(3, threeStar);
+        this.ratingHistogram.put(4, fourStar);
+        this.ratingHistogram.put(5, fiveStar);
+    }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
     public double getAverageRating() { return averageRating; }
     public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
 
     public int getTotalReviews() { return totalReviews; }
     public void setTotalReviews(int totalReviews) { this.totalReviews = totalReviews; }
+
+    public Map<Integer, Integer> getRatingHistogram() { return ratingHistogram; }
+    public void setRatingHistogram(Map<Integer, Integer> ratingHistogram) { this.ratingHistogram = ratingHistogram; }
 }
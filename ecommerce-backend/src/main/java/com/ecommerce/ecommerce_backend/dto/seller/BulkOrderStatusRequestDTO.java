@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_backend.dto.seller;
+
+import java.util.List;
+
+public class BulkOrderStatusRequestDTO {
+
+    private List<Long> orderIds;
+    private String status;
+
+    public BulkOrderStatusRequestDTO() {}
+
+    public List<Long> getOrderIds() { return orderIds; }
+    public void setOrderIds(List<Long> orderIds) { this.orderIds = orderIds; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
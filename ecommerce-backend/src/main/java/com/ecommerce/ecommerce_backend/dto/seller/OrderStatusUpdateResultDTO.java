@@ -0,0 +1,23 @@
+package com.ecommerce.ecommerce_backend.dto.seller;
+
+public class OrderStatusUpdateResultDTO {
+
+    private Long orderId;
+    private boolean success;
+    private String status;
+    private String message;
+
+    public OrderStatusUpdateResultDTO() {}
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.ecommerce_backend.dto.seller;
+
+import java.time.LocalDate;
+
+public class SellerDailySalesDTO {
+
+    private LocalDate date;
+    private long orders;
+    private long units;
+    private double revenue;
+
+    public SellerDailySalesDTO() {}
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public long getUnits() { return units; }
+    public void setUnits(long units) { this.units = units; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+}
@@ -4,6 +4,14 @@ public class SellerSalesSummaryDTO {
 
     private int totalOrders;
     private double totalRevenue;
+    private long totalUnits;
+
+    private long todayOrders;
+    private double todayRevenue;
+    private long weekOrders;
+    private double weekRevenue;
+    private long monthOrders;
+    private double monthRevenue;
 
     public SellerSalesSummaryDTO() {}
 
@@ -12,4 +20,25 @@ public class SellerSalesSummaryDTO {
 
     public double getTotalRevenue() { return totalRevenue; }
     public void setTotalRevenue(double totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public long getTotalUnits() { return totalUnits; }
+    public void setTotalUnits(long totalUnits) { this.totalUnits = totalUnits; }
+
+    public long getTodayOrders() { return todayOrders; }
+    public void setTodayOrders(long todayOrders) { this.todayOrders = todayOrders; }
+
+    public double getTodayRevenue() { return todayRevenue; }
+    public void setTodayRevenue(double todayRevenue) { this.todayRevenue = todayRevenue; }
+
+    public long getWeekOrders() { return weekOrders; }
+    public void setWeekOrders(long weekOrders) { this.weekOrders = weekOrders; }
+
+    public double getWeekRevenue() { return weekRevenue; }
+    public void setWeekRevenue(double weekRevenue) { this.weekRevenue = weekRevenue; }
+
+    public long getMonthOrders() { return monthOrders; }
+    public void setMonthOrders(long monthOrders) { this.monthOrders = monthOrders; }
+
+    public double getMonthRevenue() { return monthRevenue; }
+    public void setMonthRevenue(double monthRevenue) { this.monthRevenue = monthRevenue; }
 }
@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_backend.dto.wishlist;
+
+import java.util.List;
+
+public class BulkWishlistRequestDTO {
+
+    private List<Long> productIds;
+
+    public BulkWishlistRequestDTO() {}
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+}
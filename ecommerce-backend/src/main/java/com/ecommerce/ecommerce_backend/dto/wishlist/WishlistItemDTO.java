@@ -16,6 +16,23 @@ public class WishlistItemDTO {
 
     public WishlistItemDTO() {}
 
+    // Used by the JPQL projection in WishlistRepository.findItemsByUserId
+    public WishlistItemDTO(Long productId, String productName, String description, double price,
+                           Double originalPrice, double rating, String imageUrl, int stockQuantity,
+                           String categoryName, double discountPercent, Boolean premiumEarlyAccess) {
+        this.productId = productId;
+        this.productName = productName;
+        this.description = description;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.rating = rating;
+        this.imageUrl = imageUrl;
+        this.stockQuantity = stockQuantity;
+        this.categoryName = categoryName;
+        this.discountPercent = discountPercent;
+        this.premiumEarlyAccess = premiumEarlyAccess;
+    }
+
     public Long getProductId() {
         return productId;
     }
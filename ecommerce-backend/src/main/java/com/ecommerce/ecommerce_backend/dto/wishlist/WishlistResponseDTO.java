@@ -5,6 +5,9 @@ import java.util.List;
 public class WishlistResponseDTO {
 
     private List<WishlistItemDTO> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
 
     public WishlistResponseDTO() {}
 
@@ -15,4 +18,28 @@ public class WishlistResponseDTO {
     public void setItems(List<WishlistItemDTO> items) {
         this.items = items;
     }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.ecommerce_backend.enums;
+
+public enum DashboardMetric {
+    TOTAL_USERS,
+    TOTAL_ORDERS,   // amount column carries total revenue
+    PREMIUM_USERS,
+    VERIFIED_SELLERS,
+    PENDING_SELLERS
+}
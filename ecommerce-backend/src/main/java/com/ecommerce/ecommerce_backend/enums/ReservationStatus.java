@@ -0,0 +1,8 @@
+package com.ecommerce.ecommerce_backend.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
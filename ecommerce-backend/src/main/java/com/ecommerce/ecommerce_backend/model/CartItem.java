@@ -3,17 +3,27 @@ package com.ecommerce.ecommerce_backend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "cart_items")
+// Cart view needs only the product; checkout also reads the seller and category
+@NamedEntityGraph(name = "CartItem.view", attributeNodes = @NamedAttributeNode("product"))
+@NamedEntityGraph(name = "CartItem.checkout",
+        attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product"),
+        subgraphs = @NamedSubgraph(name = "product", attributeNodes = {
+                @NamedAttributeNode("seller"),
+                @NamedAttributeNode("category")
+        }))
+@Table(name = "cart_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_items_cart_product",
+                columnNames = {"cart_id", "product_id"}))
 public class CartItem {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Cart cart;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
     private int quantity;
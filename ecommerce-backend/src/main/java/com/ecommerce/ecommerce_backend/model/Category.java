@@ -1,9 +1,13 @@
 package com.ecommerce.ecommerce_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "categories")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "categories",
+        indexes = @Index(name = "idx_categories_tree", columnList = "tree_left, tree_right"))
 public class Category {
 
     @Id
@@ -13,10 +17,20 @@ public class Category {
     private String name;
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Category parentCategory;
 
+    // Euler-tour position, maintained by CategoryTree: a category's descendants
+    // are exactly the categories whose treeLeft falls in [treeLeft, treeRight]
+    @JsonIgnore
+    @Column(name = "tree_left")
+    private Integer treeLeft;
+
+    @JsonIgnore
+    @Column(name = "tree_right")
+    private Integer treeRight;
+
     public Category() {}
 
     public Long getId() { return id; }
@@ -30,4 +44,10 @@ public class Category {
 
     public Category getParentCategory() { return parentCategory; }
     public void setParentCategory(Category parentCategory) { this.parentCategory = parentCategory; }
+
+    public Integer getTreeLeft() { return treeLeft; }
+    public void setTreeLeft(Integer treeLeft) { this.treeLeft = treeLeft; }
+
+    public Integer getTreeRight() { return treeRight; }
+    public void setTreeRight(Integer treeRight) { this.treeRight = treeRight; }
 }
@@ -22,6 +22,10 @@ public class Coupon {
     private int usedCount = 0;
     private boolean active = true;
 
+    // Optional scope: when set, only lines from this seller / in this category are discounted
+    private Long sellerId;
+    private Long categoryId;
+
     public Coupon() {}
 
     public Long getId() { return id; }
@@ -56,4 +60,10 @@ public class Coupon {
 
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
+
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
 }
@@ -0,0 +1,46 @@
+package com.ecommerce.ecommerce_backend.model;
+
+import com.ecommerce.ecommerce_backend.enums.DashboardMetric;
+import jakarta.persistence.*;
+
+/**
+ * One slot of an admin dashboard counter. Each metric is striped over a few
+ * slots so concurrent writers (e.g. checkouts) don't queue on a single row;
+ * the metric's value is the sum of its slots.
+ */
+@Entity
+@Table(name = "dashboard_counters")
+public class DashboardCounter {
+
+    // "<metric>#<slot>"
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private DashboardMetric metric;
+
+    private int slot;
+
+    // count-type metrics
+    private long total;
+
+    // money-type metrics
+    private double amount;
+
+    public DashboardCounter() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public DashboardMetric getMetric() { return metric; }
+    public void setMetric(DashboardMetric metric) { this.metric = metric; }
+
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+}
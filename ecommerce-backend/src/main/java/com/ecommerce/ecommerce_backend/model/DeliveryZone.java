@@ -11,6 +11,10 @@ public class DeliveryZone {
     private Long id;
 
     private String pincode;
+
+    // Set for a numeric range pincode..pincodeEnd (inclusive); null for a single pincode
+    private String pincodeEnd;
+
     private boolean active;
 
     public DeliveryZone() {}
@@ -21,6 +25,9 @@ public class DeliveryZone {
     public String getPincode() { return pincode; }
     public void setPincode(String pincode) { this.pincode = pincode; }
 
+    public String getPincodeEnd() { return pincodeEnd; }
+    public void setPincodeEnd(String pincodeEnd) { this.pincodeEnd = pincodeEnd; }
+
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 }
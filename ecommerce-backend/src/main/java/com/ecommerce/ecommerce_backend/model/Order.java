@@ -1,23 +1,32 @@
 package com.ecommerce.ecommerce_backend.model;
 
 import com.ecommerce.ecommerce_backend.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Admin order list shows the customer
+@NamedEntityGraph(name = "Order.withUser", attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_date", columnList = "user_id, order_date, id"),
+        @Index(name = "idx_orders_user_status_date", columnList = "user_id, status, order_date, id")
+})
 public class Order {
 
+    // Pooled sequence ids so checkout inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserAddress address;
 
     @Enumerated(EnumType.STRING)
@@ -36,6 +45,7 @@ public class Order {
 
     private String paymentMethod;
     private String couponCode;
+    private double discountAmount;
 
     public String getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
@@ -43,6 +53,9 @@ public class Order {
     public String getCouponCode() { return couponCode; }
     public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
 
+    public double getDiscountAmount() { return discountAmount; }
+    public void setDiscountAmount(double discountAmount) { this.discountAmount = discountAmount; }
+
     public double getDeliveryCharge() {
         return deliveryCharge;
     }
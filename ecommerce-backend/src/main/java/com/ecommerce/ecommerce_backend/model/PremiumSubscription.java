@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@NamedEntityGraph(name = "PremiumSubscription.withUser", attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "premium_subscriptions")
 public class PremiumSubscription {
 
@@ -12,7 +13,7 @@ public class PremiumSubscription {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", unique = true)
     private User user;
 
@@ -1,9 +1,16 @@
 package com.ecommerce.ecommerce_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Catalog listing: product rows are serialized with their seller and category
+@NamedEntityGraph(name = "Product.listing", attributeNodes = {
+        @NamedAttributeNode("seller"),
+        @NamedAttributeNode("category")
+})
 @Table(name = "products")
 public class Product {
 
@@ -17,9 +24,31 @@ public class Product {
     private double price;
     private Double originalPrice;
     private int stockQuantity;
+
+    // Rating aggregate and view count are only changed by targeted SQL updates
+    // (ProductRatingService, ProductViewPipeline); updatable = false keeps an
+    // entity save from writing back the values it read and losing concurrent updates
+    @Column(updatable = false)
     private double averageRating;
+    @Column(updatable = false)
     private int reviewCount;
+
+    // Star histogram, kept in step with reviewCount
+    @Column(updatable = false)
+    private int oneStarCount;
+    @Column(updatable = false)
+    private int twoStarCount;
+    @Column(updatable = false)
+    private int threeStarCount;
+    @Column(updatable = false)
+    private int fourStarCount;
+    @Column(updatable = false)
+    private int fiveStarCount;
     private LocalDateTime createdAt;
+
+    // Detail-page views, added in batches by ProductViewPipeline
+    @Column(updatable = false)
+    private long viewCount;
     private double discountPercent;
     private String imageUrl;
     private Boolean premiumEarlyAccess;
@@ -40,10 +69,10 @@ public class Product {
         this.imageUrl = imageUrl;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User seller;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Category category;
 
     public Product() {}
@@ -75,9 +104,27 @@ public class Product {
     public int getReviewCount() { return reviewCount; }
     public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
 
+    public int getOneStarCount() { return oneStarCount; }
+    public void setOneStarCount(int oneStarCount) { this.oneStarCount = oneStarCount; }
+
+    public int getTwoStarCount() { return twoStarCount; }
+    public void setTwoStarCount(int twoStarCount) { this.twoStarCount = twoStarCount; }
+
+    public int getThreeStarCount() { return threeStarCount; }
+    public void setThreeStarCount(int threeStarCount) { this.threeStarCount = threeStarCount; }
+
+    public int getFourStarCount() { return fourStarCount; }
+    public void setFourStarCount(int fourStarCount) { this.fourStarCount = fourStarCount; }
+
+    public int getFiveStarCount() { return fiveStarCount; }
+    public void setFiveStarCount(int fiveStarCount) { this.fiveStarCount = fiveStarCount; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+
     public User getSeller() { return seller; }
     public void setSeller(User seller) { this.seller = seller; }
 
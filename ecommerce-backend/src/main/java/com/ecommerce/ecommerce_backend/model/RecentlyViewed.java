@@ -4,17 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recently_viewed")
+@Table(name = "recently_viewed",
+        uniqueConstraints = @UniqueConstraint(name = "uk_recently_viewed_user_product",
+                columnNames = {"user_id", "product_id"}))
 public class RecentlyViewed {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
     private LocalDateTime viewedAt;
@@ -11,7 +11,7 @@ public class ReturnRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private OrderItem orderItem;
 
     @Enumerated(EnumType.STRING)
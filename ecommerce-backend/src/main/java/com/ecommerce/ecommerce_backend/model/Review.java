@@ -4,20 +4,22 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@NamedEntityGraph(name = "Review.withUser", attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "reviews",
+        indexes = @Index(name = "idx_reviews_product_created", columnList = "product_id, created_at DESC, id DESC"))
 public class Review {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Order order;
 
     private int rating;
@@ -4,6 +4,7 @@ import com.ecommerce.ecommerce_backend.enums.PayoutStatus;
 import jakarta.persistence.*;
 
 @Entity
+@NamedEntityGraph(name = "SellerPayout.withSeller", attributeNodes = @NamedAttributeNode("seller"))
 @Table(name = "seller_payouts")
 public class SellerPayout {
 
@@ -11,7 +12,7 @@ public class SellerPayout {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User seller;
 
     private double amount;
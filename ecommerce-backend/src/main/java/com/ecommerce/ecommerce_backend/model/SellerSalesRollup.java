@@ -0,0 +1,61 @@
+package com.ecommerce.ecommerce_backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * One seller's sales for one day, maintained incrementally as orders are
+ * placed, cancelled and refunded. Dashboards sum a few of these rows
+ * instead of scanning the seller's order items.
+ */
+@Entity
+@Table(name = "seller_sales_rollups",
+        indexes = @Index(name = "idx_seller_sales_seller_date", columnList = "seller_id, sales_date"))
+public class SellerSalesRollup {
+
+    // "<sellerId>#<salesDate>"
+    @Id
+    private String id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    // day the orders were placed; cancellations and refunds adjust that day
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    private long orderCount;
+    private long unitsSold;
+    private double revenue;
+
+    public SellerSalesRollup() {}
+
+    public SellerSalesRollup(Long sellerId, LocalDate salesDate) {
+        this.id = rollupId(sellerId, salesDate);
+        this.sellerId = sellerId;
+        this.salesDate = salesDate;
+    }
+
+    public static String rollupId(Long sellerId, LocalDate salesDate) {
+        return sellerId + "#" + salesDate;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+
+    public LocalDate getSalesDate() { return salesDate; }
+    public void setSalesDate(LocalDate salesDate) { this.salesDate = salesDate; }
+
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+
+    public long getUnitsSold() { return unitsSold; }
+    public void setUnitsSold(long unitsSold) { this.unitsSold = unitsSold; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+}
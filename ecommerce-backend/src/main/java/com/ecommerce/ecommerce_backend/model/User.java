@@ -1,10 +1,12 @@
 package com.ecommerce.ecommerce_backend.model;
 
 import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "users")
 public class User {
 
@@ -3,17 +3,19 @@ package com.ecommerce.ecommerce_backend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "wishlist")
+@Table(name = "wishlist",
+        uniqueConstraints = @UniqueConstraint(name = "uk_wishlist_user_product",
+                columnNames = {"user_id", "product_id"}))
 public class Wishlist {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
     public Wishlist() {}
@@ -1,14 +1,62 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO;
 import com.ecommerce.ecommerce_backend.model.Cart;
 import com.ecommerce.ecommerce_backend.model.CartItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+public interface CartItemRepository extends JpaRepository<CartItem, Long>, CartItemRepositoryCustom {
 
+    @EntityGraph("CartItem.view")
     List<CartItem> findByCart(Cart cart);
 
-    void deleteByCart(Cart cart);
+    // Checkout read: cart lines with product, seller and category in one query
+    @EntityGraph("CartItem.checkout")
+    @Query("SELECT ci FROM CartItem ci WHERE ci.cart = :cart")
+    List<CartItem> findByCartWithProducts(@Param("cart") Cart cart);
+
+    // Cart view: each line joined to the product columns it shows, in one query
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO(" +
+            "ci.id, p.id, p.name, p.imageUrl, p.brand, p.seller.id, p.category.id, p.price, ci.quantity) " +
+            "FROM CartItem ci JOIN ci.product p WHERE ci.cart.user.id = :userId ORDER BY ci.id")
+    List<CartItemDTO> findViewByUserId(@Param("userId") Long userId);
+
+    // One line of the cart view, re-read after it changes
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO(" +
+            "ci.id, p.id, p.name, p.imageUrl, p.brand, p.seller.id, p.category.id, p.price, ci.quantity) " +
+            "FROM CartItem ci JOIN ci.product p WHERE ci.cart.id = :cartId AND p.id = :productId")
+    Optional<CartItemDTO> findViewByCartIdAndProductId(@Param("cartId") Long cartId,
+                                                       @Param("productId") Long productId);
+
+    // Quantity change scoped to the owner's cart; 0 means not found or not theirs
+    @Transactional
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.quantity = :quantity WHERE ci.id = :id AND ci.cart.id = :cartId")
+    int updateQuantity(@Param("id") Long id, @Param("cartId") Long cartId, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id AND ci.cart.id = :cartId")
+    int deleteByIdAndCartId(@Param("id") Long id, @Param("cartId") Long cartId);
+
+    // Single DELETE statement instead of loading and removing each line
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart = :cart")
+    int deleteByCart(@Param("cart") Cart cart);
+
+    // Checkout removes only the lines it ordered; lines added meanwhile stay
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id IN :ids AND ci.cart.id = :cartId")
+    int deleteByIdInAndCartId(@Param("ids") Collection<Long> ids, @Param("cartId") Long cartId);
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+public interface CartItemRepositoryCustom {
+
+    /**
+     * Adds {@code quantity} to the cart's line for the product, creating the line if
+     * there is none, in one statement keyed on (cart_id, product_id).
+     * Returns 0 if the product does not exist.
+     */
+    int addQuantity(Long cartId, Long productId, int quantity);
+}
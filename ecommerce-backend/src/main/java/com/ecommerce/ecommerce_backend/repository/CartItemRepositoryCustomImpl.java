@@ -0,0 +1,33 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class CartItemRepositoryCustomImpl implements CartItemRepositoryCustom {
+
+    // Source is empty for unknown products, so nothing is written for them
+    private static final String ADD_QUANTITY_SQL =
+            "MERGE INTO cart_items ci " +
+            "USING (SELECT CAST(? AS BIGINT) AS cart_id, p.id AS product_id, CAST(? AS INT) AS quantity " +
+            "FROM products p WHERE p.id = ?) d " +
+            "ON ci.cart_id = d.cart_id AND ci.product_id = d.product_id " +
+            "WHEN MATCHED THEN UPDATE SET ci.quantity = ci.quantity + d.quantity " +
+            "WHEN NOT MATCHED THEN INSERT (cart_id, product_id, quantity) " +
+            "VALUES (d.cart_id, d.product_id, d.quantity)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CartItemRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int addQuantity(Long cartId, Long productId, int quantity) {
+        try {
+            return jdbcTemplate.update(ADD_QUANTITY_SQL, cartId, quantity, productId);
+        } catch (DuplicateKeyException e) {
+            // A concurrent add created the line first; now it matches and is incremented
+            return jdbcTemplate.update(ADD_QUANTITY_SQL, cartId, quantity, productId);
+        }
+    }
+}
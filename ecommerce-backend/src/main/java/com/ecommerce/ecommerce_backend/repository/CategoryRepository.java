@@ -2,12 +2,17 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom {
 
     List<Category> findByParentCategory(Category parentCategory);
 
     boolean existsByName(String name);
+
+    // Whole tree in one query: [id, parentId, name, description, treeLeft, treeRight]
+    @Query("SELECT c.id, c.parentCategory.id, c.name, c.description, c.treeLeft, c.treeRight FROM Category c")
+    List<Object[]> findTreeRows();
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import java.util.List;
+
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Writes each {id, treeLeft, treeRight} in one JDBC batch
+     */
+    int[] updateTreePositions(List<long[]> positions);
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    private static final String UPDATE_POSITION_SQL =
+            "UPDATE categories SET tree_left = ?, tree_right = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] updateTreePositions(List<long[]> positions) {
+        if (positions.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(positions.size());
+        for (long[] position : positions) {
+            args.add(new Object[]{position[1], position[2], position[0]});
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_POSITION_SQL, args);
+    }
+}
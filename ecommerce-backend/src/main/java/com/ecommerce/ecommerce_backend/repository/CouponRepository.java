@@ -2,10 +2,24 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.model.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
 
     Optional<Coupon> findByCode(String code);
+
+    List<Coupon> findByActiveTrue();
+
+    // Conditional increment: 0 when the coupon is inactive or its limit is used up
+    @Transactional
+    @Modifying
+    @Query("UPDATE Coupon c SET c.usedCount = c.usedCount + 1 " +
+            "WHERE c.id = :id AND c.active = true AND c.usedCount < c.usageLimit")
+    int incrementUsedCount(@Param("id") Long id);
 }
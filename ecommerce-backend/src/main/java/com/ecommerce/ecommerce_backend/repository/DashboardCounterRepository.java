@@ -0,0 +1,32 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.DashboardCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DashboardCounter c SET c.total = c.total + :delta, c.amount = c.amount + :amountDelta " +
+            "WHERE c.id = :id")
+    int add(@Param("id") String id,
+            @Param("delta") long delta,
+            @Param("amountDelta") double amountDelta);
+
+    // Row-locks every counter until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM DashboardCounter c ORDER BY c.id")
+    List<DashboardCounter> lockAll();
+
+    // [metric, SUM(total), SUM(amount)] per metric
+    @Query("SELECT c.metric, SUM(c.total), SUM(c.amount) FROM DashboardCounter c GROUP BY c.metric")
+    List<Object[]> sumByMetric();
+}
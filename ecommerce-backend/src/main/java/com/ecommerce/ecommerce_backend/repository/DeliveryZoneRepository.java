@@ -2,10 +2,15 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.model.DeliveryZone;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
-public interface DeliveryZoneRepository extends JpaRepository<DeliveryZone, Long> {
+public interface DeliveryZoneRepository extends JpaRepository<DeliveryZone, Long>, DeliveryZoneRepositoryCustom {
 
     List<DeliveryZone> findByActiveTrue();
+
+    // Just the columns the serviceability index is built from: [pincode, pincodeEnd]
+    @Query("SELECT z.pincode, z.pincodeEnd FROM DeliveryZone z WHERE z.active = true")
+    List<Object[]> findActivePincodeRanges();
 }
@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.DeliveryZone;
+
+import java.util.List;
+
+public interface DeliveryZoneRepositoryCustom {
+
+    /**
+     * Inserts each zone as active unless an active zone with the same pincode and
+     * range end already exists, in one JDBC batch. Returns 1 per zone inserted, 0 per zone skipped.
+     */
+    int[] insertActiveIfAbsent(List<DeliveryZone> zones);
+}
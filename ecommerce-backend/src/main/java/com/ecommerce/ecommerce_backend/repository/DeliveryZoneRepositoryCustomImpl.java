@@ -0,0 +1,36 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.DeliveryZone;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeliveryZoneRepositoryCustomImpl implements DeliveryZoneRepositoryCustom {
+
+    // Re-importing the same file is a no-op instead of duplicating every zone
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO delivery_zones (pincode, pincode_end, active) " +
+            "SELECT CAST(? AS VARCHAR), CAST(? AS VARCHAR), TRUE FROM (VALUES (1)) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM delivery_zones z " +
+            "WHERE z.active AND z.pincode = ? AND z.pincode_end IS NOT DISTINCT FROM ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeliveryZoneRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] insertActiveIfAbsent(List<DeliveryZone> zones) {
+        if (zones.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(zones.size());
+        for (DeliveryZone zone : zones) {
+            args.add(new Object[]{zone.getPincode(), zone.getPincodeEnd(), zone.getPincode(), zone.getPincodeEnd()});
+        }
+        return jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, args);
+    }
+}
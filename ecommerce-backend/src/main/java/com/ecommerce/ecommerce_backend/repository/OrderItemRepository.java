@@ -1,10 +1,14 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.model.Order;
 import com.ecommerce.ecommerce_backend.model.OrderItem;
 import com.ecommerce.ecommerce_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -13,5 +17,24 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findBySeller(User seller);
 
-    List<OrderItem> findBySellerOrderByOrder_PriorityDescOrder_OrderDateAsc(User seller);
+    // Index probe on idx_order_items_seller_order_item; stops at the first match
+    boolean existsBySellerAndOrder_Id(User seller, Long orderId);
+
+    // ---------- seller fulfillment queue ----------
+    // Pages come from OrderRepository.findSellerQueue*
+
+    @Query("SELECT COUNT(DISTINCT oi.order.id) FROM OrderItem oi WHERE oi.seller = :seller")
+    long countSellerOrders(@Param("seller") User seller);
+
+    // [itemId, productName, quantity, price] for the queue's representative lines
+    @Query("SELECT oi.id, p.name, oi.quantity, oi.price FROM OrderItem oi JOIN oi.product p WHERE oi.id IN :ids")
+    List<Object[]> findQueueLines(@Param("ids") Collection<Long> ids);
+
+    // [sellerId, orderDay, COUNT(DISTINCT order), SUM(quantity), SUM(price * quantity)] for rollup backfill
+    @Query("SELECT oi.seller.id, CAST(o.orderDate AS LocalDate), COUNT(DISTINCT o.id), " +
+            "SUM(oi.quantity), SUM(oi.price * oi.quantity) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.seller IS NOT NULL AND o.status NOT IN :excluded " +
+            "GROUP BY oi.seller.id, CAST(o.orderDate AS LocalDate)")
+    List<Object[]> sumSalesBySellerAndDay(@Param("excluded") Collection<OrderStatus> excluded);
 }
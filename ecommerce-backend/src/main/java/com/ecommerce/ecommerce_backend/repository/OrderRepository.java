@@ -1,17 +1,109 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.model.Order;
 import com.ecommerce.ecommerce_backend.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     List<Order> findByUser(User user);
 
+    Page<Order> findByUser(User user, Pageable pageable);
+
+    Page<Order> findByUserAndStatus(User user, OrderStatus status, Pageable pageable);
+
     Optional<Order> findByIdAndUser(Long id, User user);
 
+    @EntityGraph("Order.withUser")
     List<Order> findAllByOrderByPriorityDescOrderDateAsc();
+
+    // ---------- seller fulfillment queue ----------
+    // Orders containing the seller's items, priority first, then oldest first:
+    // [id, priority, orderDate, status, finalAmount, seller item count, first seller item id].
+    // Driven from idx_order_items_seller_order_item (seller_id, order_id, id): only the
+    // seller's own lines are read, each joined to its order by primary key, so the
+    // cost follows the seller's order count rather than the size of the orders table.
+    // Count and first line come from the same grouping.
+    // A null status means any status. Pass PageRequest.of(page, size) to bound the page.
+
+    @Query("SELECT o.id, o.priority, o.orderDate, o.status, o.finalAmount, COUNT(oi.id), MIN(oi.id) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.seller = :seller AND (:status IS NULL OR o.status = :status) " +
+            "GROUP BY o.id, o.priority, o.orderDate, o.status, o.finalAmount " +
+            "ORDER BY o.priority DESC, o.orderDate ASC, o.id ASC")
+    List<Object[]> findSellerQueue(@Param("seller") User seller,
+                                   @Param("status") OrderStatus status,
+                                   Pageable pageable);
+
+    // Keyset pages stay inside one priority band;
+    // the service moves on to the non-priority band when the priority band runs out
+
+    @Query("SELECT o.id, o.priority, o.orderDate, o.status, o.finalAmount, COUNT(oi.id), MIN(oi.id) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.seller = :seller AND o.priority = :priority " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "GROUP BY o.id, o.priority, o.orderDate, o.status, o.finalAmount " +
+            "ORDER BY o.priority DESC, o.orderDate ASC, o.id ASC")
+    List<Object[]> findSellerQueueBand(@Param("seller") User seller,
+                                       @Param("status") OrderStatus status,
+                                       @Param("priority") boolean priority,
+                                       Pageable pageable);
+
+    @Query("SELECT o.id, o.priority, o.orderDate, o.status, o.finalAmount, COUNT(oi.id), MIN(oi.id) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.seller = :seller AND o.priority = :priority " +
+            "AND (o.orderDate > :cursorDate OR (o.orderDate = :cursorDate AND o.id > :cursorId)) " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "GROUP BY o.id, o.priority, o.orderDate, o.status, o.finalAmount " +
+            "ORDER BY o.priority DESC, o.orderDate ASC, o.id ASC")
+    List<Object[]> findSellerQueueBandAfterCursor(@Param("seller") User seller,
+                                                  @Param("status") OrderStatus status,
+                                                  @Param("priority") boolean priority,
+                                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    @Query("SELECT COUNT(DISTINCT o.id) FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.seller = :seller AND o.status = :status")
+    long countSellerQueueByStatus(@Param("seller") User seller,
+                                  @Param("status") OrderStatus status);
+
+    // [id, status] of the requested orders that contain the seller's items
+    @Query("SELECT o.id, o.status FROM Order o WHERE o.id IN :orderIds " +
+            "AND EXISTS (SELECT 1 FROM OrderItem oi WHERE oi.order = o AND oi.seller = :seller)")
+    List<Object[]> findStatusesOwnedBySeller(@Param("seller") User seller,
+                                             @Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o")
+    double sumTotalAmount();
+
+    // Keyset (seek) pagination, newest first: rows strictly after the
+    // (orderDate, id) cursor. Pass PageRequest.of(0, size) to bound the page.
+    @Query("SELECT o FROM Order o WHERE o.user = :user " +
+            "AND (o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findByUserAfterCursor(@Param("user") User user,
+                                      @Param("cursorDate") LocalDateTime cursorDate,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.user = :user AND o.status = :status " +
+            "AND (o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findByUserAndStatusAfterCursor(@Param("user") User user,
+                                               @Param("status") OrderStatus status,
+                                               @Param("cursorDate") LocalDateTime cursorDate,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
 }
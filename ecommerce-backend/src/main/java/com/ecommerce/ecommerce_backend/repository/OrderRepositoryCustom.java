@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.enums.OrderStatus;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Moves every listed order from {@code from} to {@code to} in one JDBC batch
+     * (UPDATE orders SET status = ? WHERE id = ? AND status = ?).
+     * Returns the update count per order, in list order; 0 means that order
+     * was no longer in {@code from} and was left untouched. The orders are
+     * locked first, so counts a driver reports as SUCCESS_NO_INFO are resolved
+     * from the status this batch saw.
+     */
+    int[] transitionStatus(List<Long> orderIds, OrderStatus from, OrderStatus to);
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String TRANSITION_STATUS_SQL =
+            "UPDATE orders SET status = ? WHERE id = ? AND status = ?";
+
+    private static final String LOCK_STATUSES_SQL =
+            "SELECT id, status FROM orders WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] transitionStatus(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        if (orderIds.isEmpty()) {
+            return new int[0];
+        }
+
+        // Lock the orders first: those still in "from" are exactly the ones this batch moves,
+        // which resolves counts a driver reports as SUCCESS_NO_INFO
+        Set<Long> inFrom = new HashSet<>();
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        jdbcTemplate.query(String.format(LOCK_STATUSES_SQL, placeholders),
+                rs -> {
+                    if (from.name().equals(rs.getString("status"))) {
+                        inFrom.add(rs.getLong("id"));
+                    }
+                },
+                orderIds.toArray());
+
+        List<Object[]> args = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            args.add(new Object[]{to.name(), orderId, from.name()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(TRANSITION_STATUS_SQL, args);
+
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                counts[i] = inFrom.contains(orderIds.get(i)) ? 1 : 0;
+            }
+        }
+        return counts;
+    }
+}
@@ -2,8 +2,14 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.model.PremiumSubscription;
 import com.ecommerce.ecommerce_backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface PremiumSubscriptionRepository extends JpaRepository<PremiumSubscription, Long> {
@@ -13,4 +19,21 @@ public interface PremiumSubscriptionRepository extends JpaRepository<PremiumSubs
     Optional<PremiumSubscription> findByUserAndActiveTrue(User user);
 
     boolean existsByUserAndActiveTrue(User user);
+
+    // Admin subscription list shows each subscriber's email
+    @EntityGraph("PremiumSubscription.withUser")
+    @Query("SELECT s FROM PremiumSubscription s")
+    List<PremiumSubscription> findAllWithUser();
+
+    // [userId, endDate] of every active subscription (entitlement cache warm-up)
+    @Query("SELECT s.user.id, s.endDate FROM PremiumSubscription s WHERE s.active = true")
+    List<Object[]> findActiveEndDates();
+
+    @Query("SELECT s.user.id FROM PremiumSubscription s WHERE s.active = true AND s.endDate < :today")
+    List<Long> findUserIdsWithActiveEndingBefore(@Param("today") LocalDate today);
+
+    @Modifying
+    @Query("UPDATE PremiumSubscription s SET s.active = false, s.autoRenew = false " +
+            "WHERE s.active = true AND s.endDate < :today")
+    int deactivateEndingBefore(@Param("today") LocalDate today);
 }
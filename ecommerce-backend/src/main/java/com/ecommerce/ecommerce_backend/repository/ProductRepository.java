@@ -1,25 +1,78 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.dto.review.ReviewSummaryDTO;
 import com.ecommerce.ecommerce_backend.model.Category;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
     List<Product> findByCategory(Category category);
 
+    @EntityGraph("Product.listing")
     List<Product> findBySeller(User seller);
 
+    // Product rows with seller and category, for comparison and listing views
+    @EntityGraph("Product.listing")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findListingByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Which of the given products still exist
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     List<Product> findByNameContainingIgnoreCase(String keyword);
 
     List<Product> findByCreatedAtBefore(LocalDateTime cutoff);
 
     Page<Product> findAll(Pageable pageable);
+
+    /**
+     * Folds one new rating into the stored aggregate and star histogram in a single statement.
+     * The right-hand side sees the pre-update row, so concurrent reviews
+     * serialize on the row lock instead of overwriting each other.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.averageRating = (p.averageRating * p.reviewCount + :rating) / (p.reviewCount + 1), " +
+            "p.reviewCount = p.reviewCount + 1, " +
+            "p.oneStarCount = p.oneStarCount + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+            "p.twoStarCount = p.twoStarCount + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "p.threeStarCount = p.threeStarCount + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+            "p.fourStarCount = p.fourStarCount + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+            "p.fiveStarCount = p.fiveStarCount + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+            "WHERE p.id = :productId")
+    int addRating(@Param("productId") Long productId, @Param("rating") int rating);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.averageRating = :averageRating, p.reviewCount = :reviewCount, " +
+            "p.oneStarCount = :one, p.twoStarCount = :two, p.threeStarCount = :three, " +
+            "p.fourStarCount = :four, p.fiveStarCount = :five " +
+            "WHERE p.id = :productId")
+    int setRatingAggregate(@Param("productId") Long productId,
+                           @Param("averageRating") double averageRating,
+                           @Param("reviewCount") int reviewCount,
+                           @Param("one") int one,
+                           @Param("two") int two,
+                           @Param("three") int three,
+                           @Param("four") int four,
+                           @Param("five") int five);
+
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.review.ReviewSummaryDTO(" +
+            "p.id, p.averageRating, p.reviewCount, p.oneStarCount, p.twoStarCount, " +
+            "p.threeStarCount, p.fourStarCount, p.fiveStarCount) FROM Product p WHERE p.id IN :productIds")
+    List<ReviewSummaryDTO> findRatingSummaries(@Param("productIds") Collection<Long> productIds);
 }
@@ -0,0 +1,49 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Conditionally decrements stock for every product in one JDBC batch
+     * (UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?).
+     * Returns the update count per entry, in the map's iteration order;
+     * 0 means that product did not have enough stock and was left untouched.
+     * The rows are locked first, so counts a driver reports as SUCCESS_NO_INFO
+     * are resolved from the locked stock.
+     */
+    int[] decrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Returns stock for every product in one JDBC batch.
+     */
+    int[] incrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Adds the given view counts to every product in one JDBC batch.
+     */
+    int[] addViewCounts(Map<Long, Long> viewsByProductId);
+
+    /**
+     * One page of products matching the specification, without the
+     * COUNT query that findAll(spec, pageable) always runs.
+     * Rows come with seller and category (the "Product.listing" graph).
+     */
+    List<Product> findPageContent(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Ids of the products matching the specification, in no particular order.
+     */
+    List<Long> findIds(Specification<Product> spec);
+
+    /**
+     * [id, value of sortProperty] of the products matching the specification,
+     * in no particular order.
+     */
+    List<Object[]> findIdsWithSortKey(Specification<Product> spec, String sortProperty);
+}
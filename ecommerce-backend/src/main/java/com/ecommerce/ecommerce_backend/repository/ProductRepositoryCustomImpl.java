@@ -0,0 +1,143 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String LOCK_STOCK_SQL =
+            "SELECT id, stock_quantity FROM products WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private static final String ADD_VIEW_COUNT_SQL =
+            "UPDATE products SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                       EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int[] decrementStock(Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return new int[0];
+        }
+
+        // Lock the rows first so a count the driver reports as SUCCESS_NO_INFO
+        // can be resolved from the stock this batch saw
+        String placeholders = String.join(", ", Collections.nCopies(quantitiesByProductId.size(), "?"));
+        Map<Long, Integer> lockedStock = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK_STOCK_SQL, placeholders),
+                rs -> {
+                    lockedStock.put(rs.getLong("id"), rs.getInt("stock_quantity"));
+                },
+                quantitiesByProductId.keySet().toArray());
+
+        List<Object[]> args = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                Integer stock = lockedStock.get(entry.getKey());
+                counts[i] = stock != null && stock >= entry.getValue() ? 1 : 0;
+            }
+            i++;
+        }
+        return counts;
+    }
+
+    @Override
+    public int[] incrementStock(Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, args);
+    }
+
+    @Override
+    public int[] addViewCounts(Map<Long, Long> viewsByProductId) {
+        if (viewsByProductId.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(viewsByProductId.size());
+        for (Map.Entry<Long, Long> entry : viewsByProductId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(ADD_VIEW_COUNT_SQL, args);
+    }
+
+    @Override
+    public List<Product> findPageContent(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root).where(spec.toPredicate(root, query, criteriaBuilder));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<Product> typedQuery = entityManager.createQuery(query)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph("Product.listing"));
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root.get("id")).where(spec.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Object[]> findIdsWithSortKey(Specification<Product> spec, String sortProperty) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<Product> root = query.from(Product.class);
+
+        query.multiselect(root.get("id"), root.get(sortProperty))
+                .where(spec.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -5,41 +5,54 @@ import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class ProductSpecification {
 
+    /**
+     * @param keywordMatchIds product ids matched by the search index,
+     *                        or null when no keyword was given
+     * @param categoryTreeRange [treeLeft, treeRight] of categoryId from
+     *                        CategoryTree, matching the category and all its
+     *                        descendants; null matches categoryId exactly
+     * @param createdBefore   hide products created at or after this time
+     *                        (premium early access), or null for full access
+     */
     public static Specification<Product> withFilters(
-            String keyword,
+            Collection<Long> keywordMatchIds,
             Long categoryId,
+            int[] categoryTreeRange,
             BigDecimal minPrice,
             BigDecimal maxPrice,
-            Double minRating
+            Double minRating,
+            LocalDateTime createdBefore
     ) {
         return (root, query, criteriaBuilder) -> {
 
             List<Predicate> predicates = new ArrayList<>();
 
-            // 🔍 Keyword search (name OR description)
-            if (keyword != null && !keyword.isBlank()) {
-                String pattern = "%" + keyword.toLowerCase() + "%";
+            // 🔍 Keyword search (resolved by ProductSearchIndex, matched by id)
+            if (keywordMatchIds != null) {
                 predicates.add(
-                        criteriaBuilder.or(
-                                criteriaBuilder.like(
-                                        criteriaBuilder.lower(root.get("name")),
-                                        pattern
-                                ),
-                                criteriaBuilder.like(
-                                        criteriaBuilder.lower(root.get("description")),
-                                        pattern
-                                )
-                        )
+                        keywordMatchIds.isEmpty()
+                                ? criteriaBuilder.disjunction()
+                                : root.get("id").in(keywordMatchIds)
                 );
             }
 
-            // 🗂 Category filter
-            if (categoryId != null) {
+            // 🗂 Category filter: the whole subtree as one range on the indexed tree_left
+            if (categoryTreeRange != null) {
+                predicates.add(
+                        criteriaBuilder.between(
+                                root.get("category").get("treeLeft"),
+                                categoryTreeRange[0],
+                                categoryTreeRange[1]
+                        )
+                );
+            } else if (categoryId != null) {
                 predicates.add(
                         criteriaBuilder.equal(
                                 root.get("category").get("id"),
@@ -78,6 +91,16 @@ public class ProductSpecification {
                 );
             }
 
+            // ⏳ Premium early access: non-premium users only see older products
+            if (createdBefore != null) {
+                predicates.add(
+                        criteriaBuilder.lessThan(
+                                root.get("createdAt"),
+                                createdBefore
+                        )
+                );
+            }
+
             return criteriaBuilder.and(
                     predicates.toArray(new Predicate[0])
             );
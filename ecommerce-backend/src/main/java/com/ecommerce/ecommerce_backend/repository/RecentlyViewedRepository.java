@@ -3,10 +3,18 @@ package com.ecommerce.ecommerce_backend.repository;
 import com.ecommerce.ecommerce_backend.model.RecentlyViewed;
 import com.ecommerce.ecommerce_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface RecentlyViewedRepository extends JpaRepository<RecentlyViewed, Long> {
+public interface RecentlyViewedRepository
+        extends JpaRepository<RecentlyViewed, Long>, RecentlyViewedRepositoryCustom {
 
     List<RecentlyViewed> findByUserOrderByViewedAtDesc(User user);
-}
\ No newline at end of file
+
+    // [productId, viewedAt], newest first; loads a user's recent items without their products
+    @Query("SELECT rv.product.id, rv.viewedAt FROM RecentlyViewed rv WHERE rv.user.id = :userId " +
+            "ORDER BY rv.viewedAt DESC")
+    List<Object[]> findViewsByUserId(@Param("userId") Long userId);
+}
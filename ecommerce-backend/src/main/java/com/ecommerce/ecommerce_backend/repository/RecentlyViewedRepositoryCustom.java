@@ -0,0 +1,19 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface RecentlyViewedRepositoryCustom {
+
+    /**
+     * Inserts or refreshes the user's (product, viewedAt) rows in one JDBC batch;
+     * one row per (user, product).
+     */
+    int[] upsertViews(Long userId, Map<Long, LocalDateTime> viewedAtByProductId);
+
+    /**
+     * Deletes the user's rows for the given products in one JDBC batch.
+     */
+    int[] deleteViews(Long userId, Collection<Long> productIds);
+}
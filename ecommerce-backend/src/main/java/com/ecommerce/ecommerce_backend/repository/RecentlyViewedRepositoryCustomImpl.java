@@ -0,0 +1,57 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class RecentlyViewedRepositoryCustomImpl implements RecentlyViewedRepositoryCustom {
+
+    private static final String UPSERT_VIEW_SQL =
+            "MERGE INTO recently_viewed r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))) " +
+            "AS d(user_id, product_id, viewed_at) " +
+            "ON r.user_id = d.user_id AND r.product_id = d.product_id " +
+            "WHEN MATCHED THEN UPDATE SET r.viewed_at = d.viewed_at " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, product_id, viewed_at) " +
+            "VALUES (d.user_id, d.product_id, d.viewed_at)";
+
+    private static final String DELETE_VIEW_SQL =
+            "DELETE FROM recently_viewed WHERE user_id = ? AND product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecentlyViewedRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] upsertViews(Long userId, Map<Long, LocalDateTime> viewedAtByProductId) {
+        if (viewedAtByProductId.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(viewedAtByProductId.size());
+        for (Map.Entry<Long, LocalDateTime> entry : viewedAtByProductId.entrySet()) {
+            args.add(new Object[]{userId, entry.getKey(), Timestamp.valueOf(entry.getValue())});
+        }
+        return jdbcTemplate.batchUpdate(UPSERT_VIEW_SQL, args);
+    }
+
+    @Override
+    public int[] deleteViews(Long userId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            args.add(new Object[]{userId, productId});
+        }
+        return jdbcTemplate.batchUpdate(DELETE_VIEW_SQL, args);
+    }
+}
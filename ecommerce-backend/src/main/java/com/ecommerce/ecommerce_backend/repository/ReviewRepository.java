@@ -1,16 +1,21 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.dto.review.ReviewResponseDTO;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.Review;
 import com.ecommerce.ecommerce_backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    @EntityGraph("Review.withUser")
     List<Review> findByProduct(Product product);
 
     boolean existsByUserAndProduct(User user, Product product);
@@ -19,4 +24,48 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT COALESCE(AVG(r.rating), 0) FROM Review r WHERE r.product = :product")
     double getAverageRatingByProduct(@Param("product") Product product);
+
+    /**
+     * Stored vs. actual rating aggregates for every product, including those whose
+     * reviews were all deleted (actual count 0, average 0):
+     * [productId, storedCount, storedAverage, actualCount, actualAverage,
+     *  stored 1..5 star counts, actual 1..5 star counts]
+     */
+    @Query("SELECT p.id, p.reviewCount, p.averageRating, COUNT(r), COALESCE(AVG(r.rating), 0), " +
+            "p.oneStarCount, p.twoStarCount, p.threeStarCount, p.fourStarCount, p.fiveStarCount, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), 0) " +
+            "FROM Product p LEFT JOIN Review r ON r.product = p " +
+            "GROUP BY p.id, p.reviewCount, p.averageRating, " +
+            "p.oneStarCount, p.twoStarCount, p.threeStarCount, p.fourStarCount, p.fiveStarCount")
+    List<Object[]> compareRatingAggregates();
+
+    // ---------- review pages: only the columns the page shows, newest first ----------
+    // Ordering by the (constant) product id too, plus a createdAt bound, lets the database read
+    // idx_reviews_product_created in order and stop after one page instead of sorting every
+    // review of the product.
+
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.review.ReviewResponseDTO(" +
+            "r.id, u.name, r.rating, r.comment, r.createdAt, r.verifiedPurchase) " +
+            "FROM Review r JOIN r.user u WHERE r.product.id = :productId AND r.createdAt <= :asOf " +
+            "ORDER BY r.product.id, r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDTO> findPageByProductId(@Param("productId") Long productId,
+                                                @Param("asOf") LocalDateTime asOf,
+                                                Pageable pageable);
+
+    // Keyset variant: reviews strictly older than the (createdAt, id) cursor.
+    // `createdAt <= cursorDate` is implied by the seek condition; stated so it becomes the index range
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.review.ReviewResponseDTO(" +
+            "r.id, u.name, r.rating, r.comment, r.createdAt, r.verifiedPurchase) " +
+            "FROM Review r JOIN r.user u WHERE r.product.id = :productId " +
+            "AND r.createdAt <= :cursorDate " +
+            "AND (r.createdAt < :cursorDate OR r.id < :cursorId) " +
+            "ORDER BY r.product.id, r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDTO> findPageByProductIdAfterCursor(@Param("productId") Long productId,
+                                                           @Param("cursorDate") LocalDateTime cursorDate,
+                                                           @Param("cursorId") Long cursorId,
+                                                           Pageable pageable);
 }
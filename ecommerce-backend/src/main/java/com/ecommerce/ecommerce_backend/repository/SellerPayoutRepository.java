@@ -2,11 +2,18 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.model.SellerPayout;
 import com.ecommerce.ecommerce_backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface SellerPayoutRepository extends JpaRepository<SellerPayout, Long> {
 
     List<SellerPayout> findBySeller(User seller);
+
+    // Admin payout list shows each seller's email
+    @EntityGraph("SellerPayout.withSeller")
+    @Query("SELECT p FROM SellerPayout p")
+    List<SellerPayout> findAllWithSeller();
 }
@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SellerSalesRollupRepository
+        extends JpaRepository<SellerSalesRollup, String>, SellerSalesRollupRepositoryCustom {
+
+    List<SellerSalesRollup> findBySellerIdAndSalesDateBetweenOrderBySalesDateAsc(
+            Long sellerId, LocalDate from, LocalDate to);
+
+    // [SUM(orderCount), SUM(unitsSold), SUM(revenue)] over the seller's whole history
+    @Query("SELECT COALESCE(SUM(r.orderCount), 0), COALESCE(SUM(r.unitsSold), 0), COALESCE(SUM(r.revenue), 0) " +
+            "FROM SellerSalesRollup r WHERE r.sellerId = :sellerId")
+    List<Object[]> sumBySeller(@Param("sellerId") Long sellerId);
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
+
+public interface SellerSalesRollupRepositoryCustom {
+
+    /**
+     * Add the delta's counts to its (seller, day) row, creating the row if needed.
+     * Runs as a single upsert statement in the caller's transaction.
+     */
+    void addDelta(SellerSalesRollup delta);
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+
+public class SellerSalesRollupRepositoryCustomImpl implements SellerSalesRollupRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "MERGE INTO seller_sales_rollups r " +
+            "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS DATE), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION))) " +
+            "AS d(id, seller_id, sales_date, order_count, units_sold, revenue) ON r.id = d.id " +
+            "WHEN MATCHED THEN UPDATE SET r.order_count = r.order_count + d.order_count, " +
+            "r.units_sold = r.units_sold + d.units_sold, r.revenue = r.revenue + d.revenue " +
+            "WHEN NOT MATCHED THEN INSERT (id, seller_id, sales_date, order_count, units_sold, revenue) " +
+            "VALUES (d.id, d.seller_id, d.sales_date, d.order_count, d.units_sold, d.revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SellerSalesRollupRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addDelta(SellerSalesRollup delta) {
+        Object[] args = {
+                delta.getId(), delta.getSellerId(), Date.valueOf(delta.getSalesDate()),
+                delta.getOrderCount(), delta.getUnitsSold(), delta.getRevenue()
+        };
+        try {
+            jdbcTemplate.update(UPSERT_SQL, args);
+        } catch (DuplicateKeyException e) {
+            // Another checkout created the day's row first; it now matches
+            jdbcTemplate.update(UPSERT_SQL, args);
+        }
+    }
+}
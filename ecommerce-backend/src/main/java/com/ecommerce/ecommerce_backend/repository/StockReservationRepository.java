@@ -0,0 +1,32 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.enums.ReservationStatus;
+import com.ecommerce.ecommerce_backend.model.StockReservation;
+import com.ecommerce.ecommerce_backend.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByUserAndStatus(User user, ReservationStatus status);
+
+    List<StockReservation> findByStatusAndExpiresAtBefore(ReservationStatus status, LocalDateTime time);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.id IN :ids AND r.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                      @Param("status") ReservationStatus status);
+
+    // Conditional transition: only rows still ACTIVE move, so a hold is
+    // either committed by checkout or returned by the sweep, never both
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :status " +
+            "WHERE r.id IN :ids AND r.status = com.ecommerce.ecommerce_backend.enums.ReservationStatus.ACTIVE")
+    int transitionActive(@Param("ids") Collection<Long> ids,
+                         @Param("status") ReservationStatus status);
+}
@@ -3,7 +3,12 @@ package com.ecommerce.ecommerce_backend.repository;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,5 +22,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByPremiumStatusTrue();
 
+    long countByPremiumStatusTrue();
+
+    long countByRoleAndSellerVerified(UserRole role, boolean sellerVerified);
+
     List<User> findByRole(UserRole role);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.premiumStatus = :premium " +
+            "WHERE u.id IN :userIds AND u.premiumStatus <> :premium")
+    int updatePremiumStatus(@Param("userIds") Collection<Long> userIds,
+                            @Param("premium") boolean premium);
 }
@@ -1,15 +1,42 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.dto.wishlist.WishlistItemDTO;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.model.Wishlist;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
+public interface WishlistRepository extends JpaRepository<Wishlist, Long>, WishlistRepositoryCustom {
 
     List<Wishlist> findByUser(User user);
 
     boolean existsByUserAndProduct(User user, Product product);
+
+    // Single statement on the (user_id, product_id) unique key; nothing is loaded
+    @Modifying
+    @Query("DELETE FROM Wishlist w WHERE w.user.id = :userId AND w.product.id IN :productIds")
+    int deleteByUserIdAndProductIds(@Param("userId") Long userId,
+                                    @Param("productIds") Collection<Long> productIds);
+
+    // Which of the given products the user has wishlisted, for marking a listing page
+    @Query("SELECT w.product.id FROM Wishlist w WHERE w.user.id = :userId AND w.product.id IN :productIds")
+    List<Long> findProductIdsIn(@Param("userId") Long userId,
+                                @Param("productIds") Collection<Long> productIds);
+
+    // One statement: only the product and category columns the view shows,
+    // no seller or other EAGER associations; Slice reads size + 1 rows instead of counting
+    @Query("SELECT new com.ecommerce.ecommerce_backend.dto.wishlist.WishlistItemDTO(" +
+            "p.id, p.name, p.description, p.price, p.originalPrice, p.averageRating, p.imageUrl, " +
+            "p.stockQuantity, c.name, p.discountPercent, p.premiumEarlyAccess) " +
+            "FROM Wishlist w JOIN w.product p LEFT JOIN p.category c " +
+            "WHERE w.user.id = :userId ORDER BY w.id")
+    Slice<WishlistItemDTO> findItemsByUserId(@Param("userId") Long userId, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import java.util.Collection;
+
+public interface WishlistRepositoryCustom {
+
+    /**
+     * Inserts (user, product) for every product not already wishlisted, in one JDBC batch.
+     * Returns 1 per entry that was added, 0 if it was already there or the product does not exist.
+     * If a concurrent add wins the unique key for some rows, only those rows are retried.
+     */
+    int[] addProducts(Long userId, Collection<Long> productIds);
+}
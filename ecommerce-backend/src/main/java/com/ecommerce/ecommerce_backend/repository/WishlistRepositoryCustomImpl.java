@@ -0,0 +1,95 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class WishlistRepositoryCustomImpl implements WishlistRepositoryCustom {
+
+    // Source is empty for unknown products, so they are skipped instead of failing the FK
+    private static final String ADD_PRODUCT_SQL =
+            "MERGE INTO wishlist w " +
+            "USING (SELECT CAST(? AS BIGINT) AS user_id, p.id AS product_id FROM products p WHERE p.id = ?) d " +
+            "ON w.user_id = d.user_id AND w.product_id = d.product_id " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, product_id) VALUES (d.user_id, d.product_id)";
+
+    // SQLState class for integrity constraint violations (here: the unique (user_id, product_id) key)
+    private static final String INTEGRITY_VIOLATION_CLASS = "23";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WishlistRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] addProducts(Long userId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return new int[0];
+        }
+
+        List<Long> ids = new ArrayList<>(productIds);
+        return jdbcTemplate.execute(ADD_PRODUCT_SQL, (PreparedStatementCallback<int[]>) ps -> {
+            int[] counts = new int[ids.size()];
+            List<Integer> pending = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                pending.add(i);
+            }
+
+            try {
+                executeBatch(ps, userId, ids, pending, counts);
+            } catch (BatchUpdateException e) {
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+                // A concurrent add (double-click) inserted some rows first. Keep the counts of
+                // the rows that went through and retry only the failed or unexecuted ones, which now match.
+                int[] reported = e.getUpdateCounts();
+                List<Integer> retry = new ArrayList<>();
+                for (int i : pending) {
+                    if (i < reported.length && reported[i] != Statement.EXECUTE_FAILED) {
+                        counts[i] = reported[i];
+                    } else {
+                        retry.add(i);
+                    }
+                }
+                ps.clearBatch();
+                executeBatch(ps, userId, ids, retry, counts);
+            }
+            return counts;
+        });
+    }
+
+    private static void executeBatch(PreparedStatement ps, Long userId, List<Long> ids,
+                                     List<Integer> rows, int[] counts) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int i : rows) {
+            ps.setLong(1, userId);
+            ps.setLong(2, ids.get(i));
+            ps.addBatch();
+        }
+        int[] batchCounts = ps.executeBatch();
+        for (int r = 0; r < rows.size(); r++) {
+            counts[rows.get(r)] = batchCounts[r];
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            String state = cause.getSQLState();
+            if (state != null && state.startsWith(INTEGRITY_VIOLATION_CLASS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,49 +1,44 @@
 package com.ecommerce.ecommerce_backend.service.admin;
 
-import com.ecommerce.ecommerce_backend.enums.UserRole;
-import com.ecommerce.ecommerce_backend.model.Order;
+import com.ecommerce.ecommerce_backend.enums.DashboardMetric;
 import com.ecommerce.ecommerce_backend.model.User;
-import com.ecommerce.ecommerce_backend.repository.OrderRepository;
-import com.ecommerce.ecommerce_backend.repository.UserRepository;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Service
 public class AdminAnalyticsService {
     private final AdminAuthUtil adminAuthUtil;
-    private final UserRepository userRepository;
-    private final OrderRepository orderRepository;
+    private final DashboardCounterService dashboardCounterService;
 
-    public AdminAnalyticsService(AdminAuthUtil adminAuthUtil, UserRepository userRepository,
-                                 OrderRepository orderRepository) {
+    public AdminAnalyticsService(AdminAuthUtil adminAuthUtil,
+                                 DashboardCounterService dashboardCounterService) {
         this.adminAuthUtil = adminAuthUtil;
-        this.userRepository = userRepository;
-        this.orderRepository = orderRepository;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
+    /**
+     * Served from maintained counters (constant cost regardless of data size)
+     */
     public Map<String, Object> getDashboardOverview(User admin) {
         adminAuthUtil.validateAdmin(admin);
 
+        Map<DashboardMetric, Number[]> counters = dashboardCounterService.snapshot();
+
         Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("totalUsers", userRepository.count());
-        dashboard.put("totalOrders", orderRepository.count());
-        dashboard.put("premiumUsers", userRepository.findByPremiumStatusTrue().size());
-        dashboard.put("totalSellers", userRepository.findByRoleAndSellerVerified(UserRole.SELLER, true).size());
-        dashboard.put("pendingSellers", userRepository.findByRoleAndSellerVerified(UserRole.SELLER, false).size());
+        dashboard.put("totalUsers", counters.get(DashboardMetric.TOTAL_USERS)[0].longValue());
+        dashboard.put("totalOrders", counters.get(DashboardMetric.TOTAL_ORDERS)[0].longValue());
+        dashboard.put("premiumUsers", counters.get(DashboardMetric.PREMIUM_USERS)[0].longValue());
+        dashboard.put("totalSellers", counters.get(DashboardMetric.VERIFIED_SELLERS)[0].longValue());
+        dashboard.put("pendingSellers", counters.get(DashboardMetric.PENDING_SELLERS)[0].longValue());
 
         return dashboard;
     }
 
     public double getTotalRevenue(User admin) {
         adminAuthUtil.validateAdmin(admin);
-
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+        return dashboardCounterService.getAmount(DashboardMetric.TOTAL_ORDERS);
     }
 }
@@ -3,8 +3,14 @@ package com.ecommerce.ecommerce_backend.service.admin;
 import com.ecommerce.ecommerce_backend.model.Category;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
+import com.ecommerce.ecommerce_backend.service.product.CategoryTree;
+import com.ecommerce.ecommerce_backend.service.product.ProductCountCache;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -12,37 +18,105 @@ import java.util.List;
 public class AdminCategoryService {
     private final AdminAuthUtil adminAuthUtil;
     private final CategoryRepository categoryRepository;
+    private final CategoryTree categoryTree;
+    private final ProductCountCache productCountCache;
 
-    public AdminCategoryService(AdminAuthUtil adminAuthUtil, CategoryRepository categoryRepository) {
+    // Set when a rebuild after a committed change failed; cleared by the retry job
+    private volatile boolean treeStale;
+
+    public AdminCategoryService(AdminAuthUtil adminAuthUtil,
+                                CategoryRepository categoryRepository,
+                                CategoryTree categoryTree,
+                                ProductCountCache productCountCache) {
         this.adminAuthUtil = adminAuthUtil;
         this.categoryRepository = categoryRepository;
+        this.categoryTree = categoryTree;
+        this.productCountCache = productCountCache;
     }
 
+    @Transactional
     public Category createCategory(User admin, Category category) {
         adminAuthUtil.validateAdmin(admin);
-        return categoryRepository.save(category);
+        category.setParentCategory(resolveParent(category.getParentCategory()));
+
+        Category saved = categoryRepository.save(category);
+        treeChanged();
+        return saved;
     }
 
+    @Transactional
     public Category updateCategory(User admin, Long categoryId, Category updated) {
         adminAuthUtil.validateAdmin(admin);
 
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        Category parent = resolveParent(updated.getParentCategory());
+        if (parent != null && categoryTree.isWithin(parent.getId(), categoryId)) {
+            throw new RuntimeException("Category cannot be moved under itself or its subcategories");
+        }
+
         category.setName(updated.getName());
         category.setDescription(updated.getDescription());
-        category.setParentCategory(updated.getParentCategory());
+        category.setParentCategory(parent);
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        treeChanged();
+        return saved;
     }
 
+    @Transactional
     public void deleteCategory(User admin, Long categoryId) {
         adminAuthUtil.validateAdmin(admin);
         categoryRepository.deleteById(categoryId);
+        treeChanged();
     }
 
     public List<Category> getAllCategories(User admin) {
         adminAuthUtil.validateAdmin(admin);
         return categoryRepository.findAll();
     }
+
+    private Category resolveParent(Category parent) {
+        if (parent == null || parent.getId() == null) {
+            return null;
+        }
+        return categoryRepository.findById(parent.getId())
+                .orElseThrow(() -> new RuntimeException("Parent category not found"));
+    }
+
+    /**
+     * Retry a tree rebuild that failed after its category change had committed
+     */
+    @Scheduled(fixedDelayString = "${categories.tree.retry-interval-ms:60000}")
+    public void retryStaleTree() {
+        if (treeStale) {
+            rebuildTree();
+        }
+    }
+
+    // Rebuilt only once the change has committed, so the tree never reflects a rolled-back change
+    private void treeChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuildTree();
+                }
+            });
+        } else {
+            rebuildTree();
+        }
+    }
+
+    // Subtree ranges and cached product counts per category both depend on the tree
+    private void rebuildTree() {
+        treeStale = false;
+        try {
+            categoryTree.rebuild();
+        } catch (RuntimeException e) {
+            treeStale = true;
+        }
+        productCountCache.invalidateAll();
+    }
 }
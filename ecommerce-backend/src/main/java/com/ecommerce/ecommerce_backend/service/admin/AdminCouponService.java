@@ -3,6 +3,7 @@ package com.ecommerce.ecommerce_backend.service.admin;
 import com.ecommerce.ecommerce_backend.model.Coupon;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.CouponRepository;
+import com.ecommerce.ecommerce_backend.service.user.CouponEngine;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.stereotype.Service;
 
@@ -12,15 +13,21 @@ import java.util.List;
 public class AdminCouponService {
     private final AdminAuthUtil adminAuthUtil;
     private final CouponRepository couponRepository;
+    private final CouponEngine couponEngine;
 
-    public AdminCouponService(AdminAuthUtil adminAuthUtil, CouponRepository couponRepository) {
+    public AdminCouponService(AdminAuthUtil adminAuthUtil, CouponRepository couponRepository,
+                              CouponEngine couponEngine) {
         this.adminAuthUtil = adminAuthUtil;
         this.couponRepository = couponRepository;
+        this.couponEngine = couponEngine;
     }
 
+    // Every write below reloads the coupon engine so checkout sees it immediately
     public Coupon createCoupon(User admin, Coupon coupon) {
         adminAuthUtil.validateAdmin(admin);
-        return couponRepository.save(coupon);
+        Coupon saved = couponRepository.save(coupon);
+        couponEngine.reload();
+        return saved;
     }
 
     public List<Coupon> getAllCoupons(User admin) {
@@ -36,6 +43,7 @@ public class AdminCouponService {
 
         coupon.setActive(false);
         couponRepository.save(coupon);
+        couponEngine.reload();
     }
 
     public void deleteCoupon(Long couponId) {
@@ -43,6 +51,7 @@ public class AdminCouponService {
             throw new RuntimeException("Coupon not found");
         }
         couponRepository.deleteById(couponId);
+        couponEngine.reload();
     }
 
     public Coupon toggleCouponStatus(Long couponId) {
@@ -50,6 +59,8 @@ public class AdminCouponService {
                 .orElseThrow(() -> new RuntimeException("Coupon not found"));
 
         coupon.setActive(!coupon.isActive());
-        return couponRepository.save(coupon);
+        Coupon saved = couponRepository.save(coupon);
+        couponEngine.reload();
+        return saved;
     }
 }
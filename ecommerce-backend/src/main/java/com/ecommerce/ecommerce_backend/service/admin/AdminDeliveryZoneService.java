@@ -3,24 +3,49 @@ package com.ecommerce.ecommerce_backend.service.admin;
 import com.ecommerce.ecommerce_backend.model.DeliveryZone;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.DeliveryZoneRepository;
+import com.ecommerce.ecommerce_backend.service.user.PincodeServiceabilityIndex;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminDeliveryZoneService {
 
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
     private final DeliveryZoneRepository deliveryZoneRepository;
     private final AdminAuthUtil adminAuthUtil;
-    public AdminDeliveryZoneService(DeliveryZoneRepository deliveryZoneRepository, AdminAuthUtil adminAuthUtil) {
+    private final PincodeServiceabilityIndex serviceabilityIndex;
+    private final ObjectMapper objectMapper;
+    public AdminDeliveryZoneService(DeliveryZoneRepository deliveryZoneRepository, AdminAuthUtil adminAuthUtil,
+                                    PincodeServiceabilityIndex serviceabilityIndex, ObjectMapper objectMapper) {
         this.deliveryZoneRepository = deliveryZoneRepository;
         this.adminAuthUtil = adminAuthUtil;
+        this.serviceabilityIndex = serviceabilityIndex;
+        this.objectMapper = objectMapper;
     }
 
     public DeliveryZone addZone(User admin, DeliveryZone zone) {
         adminAuthUtil.validateAdmin(admin);
-        return deliveryZoneRepository.save(zone);
+        DeliveryZone validated = toZone(zone.getPincode(), zone.getPincodeEnd());
+        zone.setPincode(validated.getPincode());
+        zone.setPincodeEnd(validated.getPincodeEnd());
+
+        DeliveryZone saved = deliveryZoneRepository.save(zone);
+        serviceabilityIndex.rebuild();
+        return saved;
     }
 
     public List<DeliveryZone> getAllZones(User admin) {
@@ -36,5 +61,135 @@ public class AdminDeliveryZoneService {
 
         zone.setActive(false);
         deliveryZoneRepository.save(zone);
+        serviceabilityIndex.rebuild();
+    }
+
+    /**
+     * Bulk import of active zones from a CSV or NDJSON body, read line by line
+     * and inserted in batches, so the payload is never held in memory.
+     * CSV lines are {@code pincode[,pincodeEnd]} with an optional "pincode" header;
+     * NDJSON lines are {@code {"pincode": "...", "pincodeEnd": "..."}}.
+     * Bad lines are counted and reported, not fatal; zones already active are skipped.
+     */
+    public Map<String, Object> importZones(User admin, InputStream body, boolean ndjson) {
+        adminAuthUtil.validateAdmin(admin);
+
+        long lines = 0;
+        long inserted = 0;
+        long skipped = 0;
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<DeliveryZone> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    DeliveryZone zone = ndjson ? parseNdjsonLine(trimmed) : parseCsvLine(trimmed);
+                    if (zone != null) {
+                        batch.add(zone);
+                    }
+                } catch (RuntimeException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("Line " + lines + ": " + e.getMessage());
+                    }
+                }
+
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    int added = insertBatch(batch);
+                    inserted += added;
+                    skipped += batch.size() - added;
+                    batch.clear();
+                }
+            }
+            int added = insertBatch(batch);
+            inserted += added;
+            skipped += batch.size() - added;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import body");
+        } finally {
+            // Batches already committed must become serviceable even if the import failed part way
+            if (inserted > 0) {
+                serviceabilityIndex.rebuild();
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("lines", lines);
+        result.put("inserted", inserted);
+        result.put("skipped", skipped);
+        result.put("rejected", rejected);
+        result.put("errors", errors);
+        result.put("serviceablePincodes", serviceabilityIndex.size());
+        return result;
+    }
+
+    private int insertBatch(List<DeliveryZone> batch) {
+        int added = 0;
+        for (int count : deliveryZoneRepository.insertActiveIfAbsent(batch)) {
+            added += count > 0 ? 1 : 0;
+        }
+        return added;
+    }
+
+    // Returns null for a header line
+    private DeliveryZone parseCsvLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length > 2) {
+            throw new RuntimeException("Expected pincode[,pincodeEnd]");
+        }
+        if (fields[0].trim().equalsIgnoreCase("pincode")) {
+            return null;
+        }
+        return toZone(fields[0], fields.length > 1 ? fields[1] : null);
+    }
+
+    private DeliveryZone parseNdjsonLine(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new RuntimeException("Expected a JSON object");
+        }
+        JsonNode pincode = node.get("pincode");
+        JsonNode pincodeEnd = node.get("pincodeEnd");
+        return toZone(pincode == null || pincode.isNull() ? null : pincode.asText(),
+                pincodeEnd == null || pincodeEnd.isNull() ? null : pincodeEnd.asText());
+    }
+
+    // A single pincode, or a numeric range stored as one row
+    private DeliveryZone toZone(String pincode, String pincodeEnd) {
+        String from = pincode == null ? "" : pincode.trim();
+        String to = pincodeEnd == null ? "" : pincodeEnd.trim();
+        if (from.isEmpty()) {
+            throw new RuntimeException("Pincode is required");
+        }
+
+        DeliveryZone zone = new DeliveryZone();
+        zone.setPincode(from);
+        zone.setActive(true);
+        if (to.isEmpty() || to.equals(from)) {
+            return zone;
+        }
+
+        int start = PincodeServiceabilityIndex.numericPincode(from);
+        int end = PincodeServiceabilityIndex.numericPincode(to);
+        if (start < 0 || end < 0) {
+            throw new RuntimeException("Range bounds must be numeric pincodes");
+        }
+        if (start > end) {
+            throw new RuntimeException("Range start is after its end");
+        }
+        zone.setPincodeEnd(to);
+        return zone;
     }
 }
@@ -4,8 +4,10 @@ import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.model.Order;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import com.ecommerce.ecommerce_backend.service.seller.SellerSalesRollupService;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,9 +16,12 @@ public class AdminOrderService {
 
     private final OrderRepository orderRepository;
     private final AdminAuthUtil adminAuthUtil;
-    public AdminOrderService(OrderRepository orderRepository, AdminAuthUtil adminAuthUtil) {
+    private final SellerSalesRollupService sellerSalesRollupService;
+    public AdminOrderService(OrderRepository orderRepository, AdminAuthUtil adminAuthUtil,
+                             SellerSalesRollupService sellerSalesRollupService) {
         this.orderRepository = orderRepository;
         this.adminAuthUtil = adminAuthUtil;
+        this.sellerSalesRollupService = sellerSalesRollupService;
     }
 
     public List<Order> getAllOrders() {
@@ -36,13 +41,16 @@ public class AdminOrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
+    @Transactional
     public void forceUpdateOrderStatus(User admin, Long orderId, OrderStatus status) {
         adminAuthUtil.validateAdmin(admin);
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
+        OrderStatus previous = order.getStatus();
         order.setStatus(status);
+        sellerSalesRollupService.orderStatusChanged(order, previous);
         orderRepository.save(order);
     }
 }
@@ -21,7 +21,7 @@ public class AdminPayoutService {
 
     public List<SellerPayout> getAllPayouts(User admin) {
         adminAuthUtil.validateAdmin(admin);
-        return payoutRepository.findAll();
+        return payoutRepository.findAllWithSeller();
     }
 
     public void releasePayout(User admin, Long payoutId) {
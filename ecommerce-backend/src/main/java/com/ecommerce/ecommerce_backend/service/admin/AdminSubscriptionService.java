@@ -3,6 +3,7 @@ package com.ecommerce.ecommerce_backend.service.admin;
 import com.ecommerce.ecommerce_backend.model.PremiumSubscription;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.PremiumSubscriptionRepository;
+import com.ecommerce.ecommerce_backend.service.user.PremiumEntitlementService;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.stereotype.Service;
 
@@ -13,14 +14,19 @@ public class AdminSubscriptionService {
 
     private final PremiumSubscriptionRepository subscriptionRepository;
     private final AdminAuthUtil adminAuthUtil;
-    public AdminSubscriptionService(PremiumSubscriptionRepository subscriptionRepository, AdminAuthUtil adminAuthUtil) {
+    private final PremiumEntitlementService premiumEntitlementService;
+
+    public AdminSubscriptionService(PremiumSubscriptionRepository subscriptionRepository,
+                                    AdminAuthUtil adminAuthUtil,
+                                    PremiumEntitlementService premiumEntitlementService) {
         this.subscriptionRepository = subscriptionRepository;
         this.adminAuthUtil = adminAuthUtil;
+        this.premiumEntitlementService = premiumEntitlementService;
     }
 
     public List<PremiumSubscription> getAllSubscriptions(User admin) {
         adminAuthUtil.validateAdmin(admin);
-        return subscriptionRepository.findAll();
+        return subscriptionRepository.findAllWithUser();
     }
 
     public void cancelSubscription(User admin, Long subscriptionId) {
@@ -31,5 +37,6 @@ public class AdminSubscriptionService {
 
         sub.setActive(false);
         subscriptionRepository.save(sub);
+        premiumEntitlementService.deactivated(sub);
     }
 }
@@ -1,10 +1,16 @@
 package com.ecommerce.ecommerce_backend.service.admin;
 
+import com.ecommerce.ecommerce_backend.enums.DashboardMetric;
+import com.ecommerce.ecommerce_backend.enums.SubscriptionPlan;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.auth.UserIdentityCache;
+import com.ecommerce.ecommerce_backend.service.user.PremiumEntitlementService;
+import com.ecommerce.ecommerce_backend.service.user.PremiumSubscriptionService;
 import com.ecommerce.ecommerce_backend.util.AdminAuthUtil;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,9 +19,23 @@ public class AdminUserService {
 
     private final UserRepository userRepository;
     private final AdminAuthUtil adminAuthUtil;
-    public AdminUserService(UserRepository userRepository, AdminAuthUtil adminAuthUtil) {
+    private final UserIdentityCache userIdentityCache;
+    private final DashboardCounterService dashboardCounterService;
+    private final PremiumSubscriptionService premiumSubscriptionService;
+    private final PremiumEntitlementService premiumEntitlementService;
+
+    public AdminUserService(UserRepository userRepository,
+                            AdminAuthUtil adminAuthUtil,
+                            UserIdentityCache userIdentityCache,
+                            DashboardCounterService dashboardCounterService,
+                            PremiumSubscriptionService premiumSubscriptionService,
+                            PremiumEntitlementService premiumEntitlementService) {
         this.userRepository = userRepository;
         this.adminAuthUtil = adminAuthUtil;
+        this.userIdentityCache = userIdentityCache;
+        this.dashboardCounterService = dashboardCounterService;
+        this.premiumSubscriptionService = premiumSubscriptionService;
+        this.premiumEntitlementService = premiumEntitlementService;
     }
 
     public List<User> getAllUsers(User admin) {
@@ -29,14 +49,18 @@ public class AdminUserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional
     public void changeUserRole(User admin, Long userId, UserRole role) {
         adminAuthUtil.validateAdmin(admin);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        DashboardMetric sellerMetricBefore = DashboardCounterService.sellerMetric(user);
         user.setRole(role);
         userRepository.save(user);
+        userIdentityCache.invalidate(user.getId());
+        dashboardCounterService.userChanged(user.isPremiumStatus(), sellerMetricBefore, user);
     }
 
     public void disableUser(User admin, Long userId) {
@@ -48,6 +72,7 @@ public class AdminUserService {
         // soft-disable strategy (simple)
         user.setPassword("DISABLED");
         userRepository.save(user);
+        userIdentityCache.invalidate(user.getId());
     }
 
     public List<User> getPendingSellers() {
@@ -55,6 +80,7 @@ public class AdminUserService {
                 .findByRoleAndSellerVerified(UserRole.SELLER, false);
     }
 
+    @Transactional
     public void approveSeller(Long sellerId) {
 
         User seller = userRepository.findById(sellerId)
@@ -64,25 +90,33 @@ public class AdminUserService {
             throw new RuntimeException("User is not a seller");
         }
 
+        DashboardMetric sellerMetricBefore = DashboardCounterService.sellerMetric(seller);
         seller.setSellerVerified(true);
         userRepository.save(seller);
+        userIdentityCache.invalidate(seller.getId());
+        dashboardCounterService.userChanged(seller.isPremiumStatus(), sellerMetricBefore, seller);
     }
 
+    @Transactional
     public void rejectSeller(Long sellerId) {
 
         User seller = userRepository.findById(sellerId)
                 .orElseThrow(() -> new RuntimeException("Seller not found"));
 
+        DashboardMetric sellerMetricBefore = DashboardCounterService.sellerMetric(seller);
         seller.setRole(UserRole.CUSTOMER);
         seller.setSellerVerified(false);
 
         userRepository.save(seller);
+        userIdentityCache.invalidate(seller.getId());
+        dashboardCounterService.userChanged(seller.isPremiumStatus(), sellerMetricBefore, seller);
     }
 
     public List<User> getVerifiedSellers() {
         return userRepository.findByRoleAndSellerVerified(UserRole.SELLER, true);
     }
 
+    @Transactional
     public void deleteSeller(Long sellerId) {
         User seller = userRepository.findById(sellerId)
                 .orElseThrow(() -> new RuntimeException("Seller not found"));
@@ -91,28 +125,42 @@ public class AdminUserService {
             throw new RuntimeException("User is not a seller");
         }
 
+        DashboardMetric sellerMetricBefore = DashboardCounterService.sellerMetric(seller);
         seller.setRole(UserRole.CUSTOMER);
         seller.setSellerVerified(false);
         userRepository.save(seller);
+        userIdentityCache.invalidate(seller.getId());
+        dashboardCounterService.userChanged(seller.isPremiumStatus(), sellerMetricBefore, seller);
     }
 
     public List<User> getPremiumUsers() {
         return userRepository.findByPremiumStatusTrue();
     }
 
-    public void grantPremium(Long userId) {
+    /**
+     * Premium is a subscription: start one for the user unless they already have one.
+     * The entitlement keeps premiumStatus and the dashboard counter in step.
+     */
+    @Transactional
+    public void grantPremium(Long userId, SubscriptionPlan plan) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setPremiumStatus(true);
-        userRepository.save(user);
+        if (!premiumEntitlementService.isPremium(user)) {
+            premiumSubscriptionService.subscribe(user, plan);
+        }
     }
 
+    /**
+     * End the user's active subscription, if any
+     */
+    @Transactional
     public void revokePremium(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setPremiumStatus(false);
-        userRepository.save(user);
+        if (premiumEntitlementService.isPremium(user)) {
+            premiumSubscriptionService.cancelSubscription(user);
+        }
     }
 }
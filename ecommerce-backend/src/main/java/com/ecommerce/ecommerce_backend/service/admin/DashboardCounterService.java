@@ -0,0 +1,183 @@
+package com.ecommerce.ecommerce_backend.service.admin;
+
+import com.ecommerce.ecommerce_backend.enums.DashboardMetric;
+import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.ecommerce.ecommerce_backend.model.DashboardCounter;
+import com.ecommerce.ecommerce_backend.model.Order;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.DashboardCounterRepository;
+import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Incrementally maintained admin dashboard counters.
+ * Order, user and seller events add deltas; reads sum a fixed number of rows.
+ * A scheduled reconcile against aggregate queries repairs any drift.
+ * Callers must add deltas in the same transaction as the change they count.
+ */
+@Service
+public class DashboardCounterService {
+
+    private static final int SLOTS = 8;
+
+    private final DashboardCounterRepository counterRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+
+    public DashboardCounterService(DashboardCounterRepository counterRepository,
+                                   UserRepository userRepository,
+                                   OrderRepository orderRepository) {
+        this.counterRepository = counterRepository;
+        this.userRepository = userRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Create missing counter rows and seed them from the live tables
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        List<DashboardCounter> missing = new ArrayList<>();
+        for (DashboardMetric metric : DashboardMetric.values()) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                String id = counterId(metric, slot);
+                if (!counterRepository.existsById(id)) {
+                    DashboardCounter counter = new DashboardCounter();
+                    counter.setId(id);
+                    counter.setMetric(metric);
+                    counter.setSlot(slot);
+                    missing.add(counter);
+                }
+            }
+        }
+        counterRepository.saveAll(missing);
+        counterRepository.flush();
+        reconcile();
+    }
+
+    // ---------- events ----------
+
+    // Order count and revenue share a row: one UPDATE per checkout
+    public void orderPlaced(Order order) {
+        add(DashboardMetric.TOTAL_ORDERS, 1, order.getTotalAmount());
+    }
+
+    public void userRegistered(User user) {
+        add(DashboardMetric.TOTAL_USERS, 1, 0);
+        userChanged(false, null, user);
+    }
+
+    /**
+     * Apply the counter effect of a change to a user's premium flag or seller state.
+     * Callers capture the "before" values prior to mutating the user.
+     */
+    public void userChanged(boolean wasPremium, DashboardMetric sellerMetricBefore, User after) {
+        if (wasPremium != after.isPremiumStatus()) {
+            premiumChanged(after.isPremiumStatus() ? 1 : -1);
+        }
+
+        DashboardMetric sellerMetricAfter = sellerMetric(after);
+        if (sellerMetricBefore != sellerMetricAfter) {
+            if (sellerMetricBefore != null) {
+                add(sellerMetricBefore, -1, 0);
+            }
+            if (sellerMetricAfter != null) {
+                add(sellerMetricAfter, 1, 0);
+            }
+        }
+    }
+
+    public void premiumChanged(long delta) {
+        if (delta != 0) {
+            add(DashboardMetric.PREMIUM_USERS, delta, 0);
+        }
+    }
+
+    /**
+     * Which seller counter the user falls in (null for non-sellers)
+     */
+    public static DashboardMetric sellerMetric(User user) {
+        if (user.getRole() != UserRole.SELLER) {
+            return null;
+        }
+        return user.isSellerVerified() ? DashboardMetric.VERIFIED_SELLERS : DashboardMetric.PENDING_SELLERS;
+    }
+
+    // ---------- reads ----------
+
+    public double getAmount(DashboardMetric metric) {
+        return snapshot().get(metric)[1].doubleValue();
+    }
+
+    /**
+     * [count, amount] per metric, from SLOTS rows per metric
+     */
+    public Map<DashboardMetric, Number[]> snapshot() {
+        Map<DashboardMetric, Number[]> values = new EnumMap<>(DashboardMetric.class);
+        for (DashboardMetric metric : DashboardMetric.values()) {
+            values.put(metric, new Number[]{0L, 0.0});
+        }
+        for (Object[] row : counterRepository.sumByMetric()) {
+            values.put((DashboardMetric) row[0], new Number[]{(Number) row[1], (Number) row[2]});
+        }
+        return values;
+    }
+
+    // ---------- repair ----------
+
+    /**
+     * Recompute every metric with aggregate queries and fold the difference into slot 0.
+     * The counter rows are locked first: an event that already added its delta has
+     * committed its change too, and one that has not yet added it cannot commit until
+     * we are done, so the counts and the counters describe the same moment.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${dashboard.counters.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        counterRepository.lockAll();
+        Map<DashboardMetric, Number[]> current = snapshot();
+
+        correct(current, DashboardMetric.TOTAL_USERS, userRepository.count());
+        correct(current, DashboardMetric.TOTAL_ORDERS, orderRepository.count());
+        correct(current, DashboardMetric.PREMIUM_USERS, userRepository.countByPremiumStatusTrue());
+        correct(current, DashboardMetric.VERIFIED_SELLERS,
+                userRepository.countByRoleAndSellerVerified(UserRole.SELLER, true));
+        correct(current, DashboardMetric.PENDING_SELLERS,
+                userRepository.countByRoleAndSellerVerified(UserRole.SELLER, false));
+
+        double revenueDrift = orderRepository.sumTotalAmount()
+                - current.get(DashboardMetric.TOTAL_ORDERS)[1].doubleValue();
+        if (Math.abs(revenueDrift) > 0.001) {
+            counterRepository.add(counterId(DashboardMetric.TOTAL_ORDERS, 0), 0, revenueDrift);
+        }
+    }
+
+    private void correct(Map<DashboardMetric, Number[]> current, DashboardMetric metric, long actual) {
+        long drift = actual - current.get(metric)[0].longValue();
+        if (drift != 0) {
+            counterRepository.add(counterId(metric, 0), drift, 0);
+        }
+    }
+
+    private void add(DashboardMetric metric, long delta, double amountDelta) {
+        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+        counterRepository.add(counterId(metric, slot), delta, amountDelta);
+    }
+
+    private static String counterId(DashboardMetric metric, int slot) {
+        return metric.name() + "#" + slot;
+    }
+}
@@ -3,8 +3,10 @@ package com.ecommerce.ecommerce_backend.service.auth;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.admin.DashboardCounterService;
 import com.ecommerce.ecommerce_backend.util.PasswordUtil;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -12,14 +14,21 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final DashboardCounterService dashboardCounterService;
 
-    public AuthService(UserRepository userRepository) {
+    public AuthService(UserRepository userRepository,
+                       UserIdentityCache userIdentityCache,
+                       DashboardCounterService dashboardCounterService) {
         this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     /**
      * Register a new user
      */
+    @Transactional
     public User registerUser(String email,
                              String password,
                              String name,
@@ -38,7 +47,9 @@ public class AuthService {
         user.setRole(role);
         user.setCreatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        dashboardCounterService.userRegistered(saved);
+        return saved;
     }
 
     /**
@@ -59,10 +70,10 @@ public class AuthService {
 
     /**
      * Utility method to fetch user by ID
-     * (used by controllers when resolving X-USER-ID header)
+     * (used by controllers when resolving X-USER-ID header; served from the identity cache)
      */
     public User getUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userIdentityCache.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -0,0 +1,166 @@
+package com.ecommerce.ecommerce_backend.service.auth;
+
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-evicting read-through cache for users resolved from
+ * the X-USER-ID / X-SELLER-ID / X-ADMIN-ID headers.
+ * Callers get their own detached copy, never the cached instance,
+ * so request code can mutate it freely. Every write to a user must
+ * call {@link #invalidate(Long)}; inside a transaction the entry is
+ * dropped once it commits, so a read before the commit cannot re-cache
+ * the old row.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${identity.cache.max-size:10000}") int maxSize,
+                             @Value("${identity.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public Optional<User> findById(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAt < 0) {
+            hits.increment();
+            return Optional.of(copyOf(entry.user));
+        }
+
+        misses.increment();
+        long epoch = invalidationEpoch.get();
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(user -> {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(userId, new Entry(copyOf(user), now + ttlNanos));
+
+            // An invalidation raced with the load; the row we read may be stale
+            if (invalidationEpoch.get() != epoch) {
+                entries.remove(userId);
+            }
+        });
+        return loaded.map(UserIdentityCache::copyOf);
+    }
+
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(userId);
+                }
+            });
+        } else {
+            invalidateNow(userId);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private void invalidateNow(Long userId) {
+        invalidationEpoch.incrementAndGet();
+        if (userId != null && entries.remove(userId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    // Drop expired entries; if still full, drop the soonest-expiring tenth
+    private void evict(long now) {
+        entries.entrySet().removeIf(e -> {
+            boolean expired = now - e.getValue().expiresAt >= 0;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        List<Map.Entry<Long, Entry>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(e -> e.getValue().expiresAt - now));
+        int toRemove = Math.max(1, maxSize / 10);
+        for (int i = 0; i < toRemove && i < oldest.size(); i++) {
+            if (entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static User copyOf(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setEmail(source.getEmail());
+        copy.setPassword(source.getPassword());
+        copy.setName(source.getName());
+        copy.setPhone(source.getPhone());
+        copy.setRole(source.getRole());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setSellerVerified(source.isSellerVerified());
+        copy.setPremiumStatus(source.isPremiumStatus());
+        return copy;
+    }
+
+    private static final class Entry {
+
+        final User user;
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.model.Category;
+import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The category hierarchy, loaded in one query and held as an immutable snapshot.
+ * Every category is numbered by an Euler tour: treeLeft on entry, treeRight as
+ * the last number used inside its subtree, so "category and all descendants"
+ * is the single range treeLeft BETWEEN left AND right. The numbers are written
+ * back to categories.tree_left/tree_right (indexed) so product queries can use
+ * the same range. {@link #rebuild()} must run after every category change
+ * commits; it writes the positions in a transaction of its own, started and
+ * committed inside the rebuild lock.
+ */
+@Component
+public class CategoryTree {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Held across the whole rebuild, commit included, so an older tree can never
+    // be written or swapped in over a newer one
+    private final Object rebuildLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of());
+
+    public CategoryTree(CategoryRepository categoryRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // REQUIRES_NEW: callers run this from afterCommit, where the finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            // Published only once the positions have committed
+            snapshot = transactionTemplate.execute(status -> load());
+        }
+    }
+
+    private Snapshot load() {
+        Map<Long, Node> nodes = new TreeMap<>();
+        Map<Long, Object[]> stored = new HashMap<>();
+        for (Object[] row : categoryRepository.findTreeRows()) {
+            Long id = (Long) row[0];
+            nodes.put(id, new Node(id, (Long) row[1], (String) row[2], (String) row[3]));
+            stored.put(id, new Object[]{row[4], row[5]});
+        }
+
+        // Children in id order; a missing or self parent makes a root
+        List<Node> roots = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            Node parent = node.parentId != null ? nodes.get(node.parentId) : null;
+            if (parent != null && parent != node) {
+                parent.children.add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+
+        // 1️⃣ Number the tree; a cycle left unreached from the roots is entered at its lowest id
+        List<Map<String, Object>> menu = new ArrayList<>();
+        int counter = 0;
+        for (Node root : roots) {
+            counter = walk(root, counter, menu);
+        }
+        for (Node node : nodes.values()) {
+            if (node.left == 0) {
+                counter = walk(node, counter, menu);
+            }
+        }
+
+        // 2️⃣ Persist only the positions that moved
+        List<long[]> moved = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            Object[] position = stored.get(node.id);
+            if (!Objects.equals(position[0], node.left) || !Objects.equals(position[1], node.right)) {
+                moved.add(new long[]{node.id, node.left, node.right});
+            }
+        }
+        categoryRepository.updateTreePositions(moved);
+
+        return new Snapshot(nodes, menu);
+    }
+
+    /**
+     * [treeLeft, treeRight] of the category's subtree, or null if the category is unknown
+     */
+    public int[] subtreeRange(Long categoryId) {
+        Node node = categoryId != null ? snapshot.nodes.get(categoryId) : null;
+        return node == null ? null : new int[]{node.left, node.right};
+    }
+
+    /**
+     * Whether the category is the ancestor itself or one of its descendants
+     */
+    public boolean isWithin(Long categoryId, Long ancestorId) {
+        if (categoryId == null || ancestorId == null) {
+            return false;
+        }
+        if (categoryId.equals(ancestorId)) {
+            return true;
+        }
+        Snapshot current = snapshot;
+        Node node = current.nodes.get(categoryId);
+        Node ancestor = current.nodes.get(ancestorId);
+        return node != null && ancestor != null
+                && ancestor.left <= node.left && node.left <= ancestor.right;
+    }
+
+    /**
+     * All categories in id order, as detached copies with their parent chain
+     */
+    public List<Category> getCategories() {
+        Map<Long, Category> copies = new LinkedHashMap<>();
+        for (Node node : snapshot.nodes.values()) {
+            copies.put(node.id, node.copy());
+        }
+        for (Node node : snapshot.nodes.values()) {
+            copies.get(node.id).setParentCategory(node.parent != null ? copies.get(node.parent.id) : null);
+        }
+        return new ArrayList<>(copies.values());
+    }
+
+    public Category getCategory(Long categoryId) {
+        Node node = snapshot.nodes.get(categoryId);
+        if (node == null) {
+            return null;
+        }
+        Category copy = node.copy();
+        Category child = copy;
+        for (Node parent = node.parent; parent != null; parent = parent.parent) {
+            Category parentCopy = parent.copy();
+            child.setParentCategory(parentCopy);
+            child = parentCopy;
+        }
+        return copy;
+    }
+
+    /**
+     * Nested menu of roots and their children: id, name, description, children
+     */
+    public List<Map<String, Object>> getMenu() {
+        return snapshot.menu;
+    }
+
+    public int size() {
+        return snapshot.nodes.size();
+    }
+
+    private static int walk(Node node, int counter, List<Map<String, Object>> siblings) {
+        node.left = ++counter;
+
+        List<Map<String, Object>> children = new ArrayList<>();
+        for (Node child : node.children) {
+            if (child.left == 0) {
+                child.parent = node;
+                counter = walk(child, counter, children);
+            }
+        }
+        node.right = counter;
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", node.id);
+        entry.put("name", node.name);
+        entry.put("description", node.description);
+        entry.put("children", Collections.unmodifiableList(children));
+        siblings.add(Collections.unmodifiableMap(entry));
+        return counter;
+    }
+
+    private static final class Snapshot {
+
+        final Map<Long, Node> nodes;
+        final List<Map<String, Object>> menu;
+
+        Snapshot(Map<Long, Node> nodes, List<Map<String, Object>> menu) {
+            this.nodes = Collections.unmodifiableMap(nodes);
+            this.menu = Collections.unmodifiableList(menu);
+        }
+    }
+
+    // Filled in by rebuild(), never modified once the snapshot is published
+    private static final class Node {
+
+        final Long id;
+        final Long parentId;
+        final String name;
+        final String description;
+        final List<Node> children = new ArrayList<>();
+
+        // Parent in the numbered tree; differs from parentId only when breaking a cycle
+        Node parent;
+        int left;
+        int right;
+
+        Node(Long id, Long parentId, String name, String description) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.description = description;
+        }
+
+        Category copy() {
+            Category category = new Category();
+            category.setId(id);
+            category.setName(name);
+            category.setDescription(description);
+            return category;
+        }
+    }
+}
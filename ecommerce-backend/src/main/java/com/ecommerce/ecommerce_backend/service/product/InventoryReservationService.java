@@ -0,0 +1,188 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.enums.ReservationStatus;
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.model.StockReservation;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.StockReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Owns Product.stockQuantity for checkout.
+ * Stock only ever moves through conditional atomic updates
+ * (stock_quantity >= qty), so concurrent checkouts cannot oversell.
+ * Held units live in StockReservation rows until committed, released or expired.
+ */
+@Service
+public class InventoryReservationService {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final long reservationTtlMinutes;
+
+    public InventoryReservationService(ProductRepository productRepository,
+                                       StockReservationRepository reservationRepository,
+                                       @Value("${inventory.reservation.ttl-minutes:15}") long reservationTtlMinutes) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationTtlMinutes = reservationTtlMinutes;
+    }
+
+    /**
+     * Hold stock for a checkout that has started but not been placed yet.
+     * Any earlier holds of the user are returned first.
+     */
+    @Transactional
+    public List<StockReservation> reserve(User user, Map<Long, Integer> quantitiesByProductId) {
+        release(user);
+        take(quantitiesByProductId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StockReservation> holds = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            StockReservation hold = new StockReservation();
+            hold.setUser(user);
+            hold.setProduct(productRepository.getReferenceById(entry.getKey()));
+            hold.setQuantity(entry.getValue());
+            hold.setStatus(ReservationStatus.ACTIVE);
+            hold.setCreatedAt(now);
+            hold.setExpiresAt(now.plusMinutes(reservationTtlMinutes));
+            holds.add(hold);
+        }
+        return reservationRepository.saveAll(holds);
+    }
+
+    /**
+     * Take stock for a placed order (must run inside the order's transaction).
+     * The user's active holds are consumed first; only the difference
+     * is taken from, or returned to, the product.
+     */
+    @Transactional
+    public void commit(User user, Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Integer> held = sumByProduct(
+                transition(reservationRepository.findByUserAndStatus(user, ReservationStatus.ACTIVE),
+                        ReservationStatus.COMMITTED));
+
+        Map<Long, Integer> toTake = new TreeMap<>();
+        Map<Long, Integer> toReturn = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            int diff = entry.getValue() - held.getOrDefault(entry.getKey(), 0);
+            if (diff > 0) {
+                toTake.put(entry.getKey(), diff);
+            } else if (diff < 0) {
+                toReturn.put(entry.getKey(), -diff);
+            }
+        }
+        held.forEach((productId, qty) -> {
+            if (!quantitiesByProductId.containsKey(productId)) {
+                toReturn.put(productId, qty);
+            }
+        });
+
+        take(toTake);
+        productRepository.incrementStock(toReturn);
+    }
+
+    /**
+     * Return the user's active holds (checkout abandoned or restarted)
+     */
+    @Transactional
+    public int release(User user) {
+        List<StockReservation> released = transition(
+                reservationRepository.findByUserAndStatus(user, ReservationStatus.ACTIVE),
+                ReservationStatus.RELEASED);
+
+        productRepository.incrementStock(sumByProduct(released));
+        return released.size();
+    }
+
+    /**
+     * Give stock back to products, e.g. when an order is cancelled
+     */
+    @Transactional
+    public void restock(Map<Long, Integer> quantitiesByProductId) {
+        productRepository.incrementStock(new TreeMap<>(quantitiesByProductId));
+    }
+
+    /**
+     * Periodically return holds whose checkout was abandoned
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:60000}",
+            initialDelayString = "${inventory.reservation.sweep-initial-delay-ms:60000}")
+    @Transactional
+    public int releaseExpired() {
+        return releaseExpiredBefore(LocalDateTime.now());
+    }
+
+    @Transactional
+    public int releaseExpiredBefore(LocalDateTime time) {
+        List<StockReservation> expired = transition(
+                reservationRepository.findByStatusAndExpiresAtBefore(ReservationStatus.ACTIVE, time),
+                ReservationStatus.EXPIRED);
+
+        productRepository.incrementStock(sumByProduct(expired));
+        return expired.size();
+    }
+
+    // Conditional decrement in product id order (consistent lock order avoids deadlocks)
+    private void take(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Integer> ordered = new TreeMap<>(quantitiesByProductId);
+        int[] counts = productRepository.decrementStock(ordered);
+
+        List<Long> shortIds = new ArrayList<>();
+        int i = 0;
+        for (Long productId : ordered.keySet()) {
+            if (counts[i++] == 0) {
+                shortIds.add(productId);
+            }
+        }
+
+        if (!shortIds.isEmpty()) {
+            // Throwing rolls back the decrements that did succeed
+            String names = productRepository.findAllById(shortIds).stream()
+                    .map(Product::getName)
+                    .collect(Collectors.joining(", "));
+            throw new RuntimeException("Insufficient stock for product: " + names);
+        }
+    }
+
+    // Moves ACTIVE holds to the target status; returns only the holds this call moved
+    private List<StockReservation> transition(List<StockReservation> holds, ReservationStatus target) {
+        if (holds.isEmpty()) {
+            return holds;
+        }
+
+        List<Long> ids = holds.stream().map(StockReservation::getId).toList();
+        int moved = reservationRepository.transitionActive(ids, target);
+        if (moved == holds.size()) {
+            return holds;
+        }
+
+        // Lost a race for some holds (e.g. checkout vs expiry sweep)
+        Set<Long> movedIds = new HashSet<>(reservationRepository.findIdsByIdInAndStatus(ids, target));
+        return holds.stream()
+                .filter(hold -> movedIds.contains(hold.getId()))
+                .toList();
+    }
+
+    private Map<Long, Integer> sumByProduct(List<StockReservation> holds) {
+        Map<Long, Integer> sums = new TreeMap<>();
+        for (StockReservation hold : holds) {
+            sums.merge(hold.getProduct().getId(), hold.getQuantity(), Integer::sum);
+        }
+        return sums;
+    }
+}
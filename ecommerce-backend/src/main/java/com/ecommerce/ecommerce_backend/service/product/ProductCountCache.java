@@ -0,0 +1,60 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of catalog COUNT(*) results, keyed by filter combination.
+ * Cleared whenever a product is added, changed or removed; the TTL bounds
+ * drift from things that are not invalidated (ratings, the early-access window).
+ */
+@Component
+public class ProductCountCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<String, Entry> counts = new ConcurrentHashMap<>();
+
+    public ProductCountCache(@Value("${catalog.count-cache.max-entries:1000}") int maxEntries,
+                             @Value("${catalog.count-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public long getCount(String filterKey, LongSupplier loader) {
+        long now = System.nanoTime();
+        Entry entry = counts.get(filterKey);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.count;
+        }
+
+        long count = loader.getAsLong();
+        if (counts.size() >= maxEntries) {
+            counts.entrySet().removeIf(e -> now - e.getValue().expiresAt >= 0);
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        counts.put(filterKey, new Entry(count, now + ttlNanos));
+        return count;
+    }
+
+    public void invalidateAll() {
+        counts.clear();
+    }
+
+    private static final class Entry {
+
+        final long count;
+        final long expiresAt;
+
+        Entry(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
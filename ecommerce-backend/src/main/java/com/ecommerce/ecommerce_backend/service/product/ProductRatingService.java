@@ -0,0 +1,103 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.dto.review.ReviewSummaryDTO;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.ReviewRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Owns Product.averageRating / Product.reviewCount.
+ * Reads never touch the reviews table; writes go through atomic updates.
+ */
+@Service
+public class ProductRatingService {
+
+    private static final double RATING_EPSILON = 0.0001;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+
+    public ProductRatingService(ProductRepository productRepository,
+                                ReviewRepository reviewRepository) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+    }
+
+    /**
+     * Record a new rating against the product aggregate
+     * (must run inside the transaction that saves the review)
+     */
+    @Transactional
+    public void recordRating(Long productId, int rating) {
+        if (productRepository.addRating(productId, rating) == 0) {
+            throw new RuntimeException("Product not found");
+        }
+    }
+
+    /**
+     * Stored aggregate and star histogram for one product (no reviews scan)
+     */
+    public ReviewSummaryDTO getRatingSummary(Long productId) {
+        ReviewSummaryDTO summary = getRatingSummaries(List.of(productId)).get(productId);
+        if (summary == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return summary;
+    }
+
+    /**
+     * Batch read of stored aggregates, keyed by product id (one query)
+     */
+    public Map<Long, ReviewSummaryDTO> getRatingSummaries(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findRatingSummaries(productIds)
+                .stream()
+                .collect(Collectors.toMap(ReviewSummaryDTO::getProductId, Function.identity()));
+    }
+
+    /**
+     * Repair products whose stored aggregate drifted from the reviews table,
+     * including products whose reviews have all been deleted.
+     */
+    @Scheduled(fixedDelayString = "${ratings.reconcile.interval-ms:3600000}",
+            initialDelayString = "${ratings.reconcile.initial-delay-ms:60000}")
+    @Transactional
+    public int reconcileRatings() {
+        int repaired = 0;
+
+        List<Object[]> rows = reviewRepository.compareRatingAggregates();
+        for (Object[] row : rows) {
+            Long productId = (Long) row[0];
+            int storedCount = ((Number) row[1]).intValue();
+            double storedAverage = ((Number) row[2]).doubleValue();
+            int actualCount = ((Number) row[3]).intValue();
+            double actualAverage = ((Number) row[4]).doubleValue();
+
+            // stars at row[5..9] (stored) and row[10..14] (actual)
+            int[] actualStars = new int[5];
+            boolean starsDrifted = false;
+            for (int star = 0; star < 5; star++) {
+                actualStars[star] = ((Number) row[10 + star]).intValue();
+                starsDrifted |= ((Number) row[5 + star]).intValue() != actualStars[star];
+            }
+
+            if (storedCount != actualCount || starsDrifted
+                    || Math.abs(storedAverage - actualAverage) > RATING_EPSILON) {
+                productRepository.setRatingAggregate(productId, actualAverage, actualCount,
+                        actualStars[0], actualStars[1], actualStars[2], actualStars[3], actualStars[4]);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,514 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over product name, brand and description.
+ * Each term maps to a primitive posting list (doc ordinals in ascending order
+ * plus field-weighted term frequencies). An update appends a new doc and
+ * retires the old one; retired docs are dropped by periodic compaction.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // The last query token also matches as a prefix ("head" -> "headphones")
+    private static final int MAX_PREFIX_EXPANSION = 64;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MIN_DEAD_DOCS_FOR_COMPACTION = 1024;
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Integer> docByProductId = new HashMap<>();
+    private long[] productIdByDoc = new long[1024];
+    private Postings[][] termsByDoc = new Postings[1024][];
+    private BitSet liveDocs = new BitSet();
+    private int docCount;
+    private int liveDocCount;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Load the whole catalog once the application (and seed data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            docByProductId.clear();
+            liveDocs = new BitSet();
+            docCount = 0;
+            liveDocCount = 0;
+
+            int page = 0;
+            Page<Product> batch;
+            do {
+                batch = productRepository.findAll(
+                        PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+                batch.forEach(this::addDoc);
+            } while (batch.hasNext());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a product, or replace its previous version
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(product.getId());
+            addDoc(product);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Product ids matching every query token, best match first.
+     * Score is the field-weighted term frequency times idf, summed over tokens.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Matches[] perToken = new Matches[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean last = i == tokens.size() - 1;
+                Matches matches = last ? prefixMatches(tokens.get(i)) : exactMatches(tokens.get(i));
+                if (matches.size == 0) {
+                    return List.of();
+                }
+                perToken[i] = matches;
+            }
+
+            // Drive from the rarest token, gallop through the others
+            Arrays.sort(perToken, (a, b) -> Integer.compare(a.size, b.size));
+            Matches driver = perToken[0];
+            int[] cursors = new int[perToken.length];
+            TopK topK = new TopK(Math.min(limit, driver.size));
+
+            outer:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                if (!liveDocs.get(doc)) {
+                    continue;
+                }
+
+                float score = driver.score(i);
+                for (int t = 1; t < perToken.length; t++) {
+                    Matches other = perToken[t];
+                    int pos = other.advance(cursors[t], doc);
+                    cursors[t] = pos;
+                    if (pos == other.size) {
+                        break outer;
+                    }
+                    if (other.docs[pos] != doc) {
+                        continue outer;
+                    }
+                    score += other.score(pos);
+                }
+                topK.offer(doc, score);
+            }
+
+            int[] docs = topK.drainBestFirst();
+            List<Long> productIds = new ArrayList<>(docs.length);
+            for (int doc : docs) {
+                productIds.add(productIdByDoc[doc]);
+            }
+            return productIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // ---------- writes (caller holds the write lock) ----------
+
+    private void addDoc(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getBrand(), BRAND_WEIGHT);
+        addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        int doc = docCount++;
+        if (doc == productIdByDoc.length) {
+            productIdByDoc = Arrays.copyOf(productIdByDoc, doc * 2);
+            termsByDoc = Arrays.copyOf(termsByDoc, doc * 2);
+        }
+
+        Postings[] docTerms = new Postings[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Postings postings = postingsByTerm.computeIfAbsent(entry.getKey(), t -> new Postings());
+            postings.add(doc, entry.getValue());
+            docTerms[i++] = postings;
+        }
+
+        productIdByDoc[doc] = product.getId();
+        termsByDoc[doc] = docTerms;
+        docByProductId.put(product.getId(), doc);
+        liveDocs.set(doc);
+        liveDocCount++;
+    }
+
+    private void addField(Map<String, Integer> weights, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                weights.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    private void removeDoc(Long productId) {
+        Integer doc = docByProductId.remove(productId);
+        if (doc == null) {
+            return;
+        }
+
+        for (Postings postings : termsByDoc[doc]) {
+            postings.liveCount--;
+        }
+        termsByDoc[doc] = null;
+        liveDocs.clear(doc);
+        liveDocCount--;
+    }
+
+    // Drop retired docs once they make up half the index; ordinals are
+    // renumbered monotonically so posting lists stay sorted
+    private void compactIfNeeded() {
+        int deadDocs = docCount - liveDocCount;
+        if (deadDocs < MIN_DEAD_DOCS_FOR_COMPACTION || deadDocs < liveDocCount) {
+            return;
+        }
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (liveDocs.get(doc)) {
+                remap[doc] = next;
+                productIdByDoc[next] = productIdByDoc[doc];
+                termsByDoc[next] = termsByDoc[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        Arrays.fill(termsByDoc, next, docCount, null);
+
+        postingsByTerm.values().removeIf(postings -> {
+            postings.compact(remap);
+            return postings.size == 0;
+        });
+
+        docByProductId.clear();
+        for (int doc = 0; doc < next; doc++) {
+            docByProductId.put(productIdByDoc[doc], doc);
+        }
+
+        liveDocs = new BitSet(next);
+        liveDocs.set(0, next);
+        docCount = next;
+    }
+
+    // ---------- reads (caller holds the read lock) ----------
+
+    // Views the posting list directly; retired docs are skipped by the caller
+    private Matches exactMatches(String term) {
+        Postings postings = postingsByTerm.get(term);
+        if (postings == null || postings.liveCount == 0) {
+            return Matches.EMPTY;
+        }
+        return Matches.of(postings, idf(postings), 1f);
+    }
+
+    private Matches prefixMatches(String prefix) {
+        NavigableMap<String, Postings> expansion =
+                postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        List<Matches> parts = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Postings> entry : expansion.entrySet()) {
+            Postings postings = entry.getValue();
+            if (postings.liveCount == 0) {
+                continue;
+            }
+            float factor = entry.getKey().equals(prefix) ? 1f : PREFIX_MATCH_FACTOR;
+            parts.add(Matches.of(postings, idf(postings), factor));
+            total += postings.size;
+            if (parts.size() == MAX_PREFIX_EXPANSION) {
+                break;
+            }
+        }
+
+        if (parts.isEmpty()) {
+            return Matches.EMPTY;
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        // Union: pack (doc, part, position) so one primitive sort groups each doc
+        long[] packed = new long[total];
+        int n = 0;
+        for (int p = 0; p < parts.size(); p++) {
+            Matches part = parts.get(p);
+            for (int i = 0; i < part.size; i++) {
+                packed[n++] = ((long) part.docs[i] << 32) | ((long) p << 26) | i;
+            }
+        }
+        Arrays.sort(packed);
+
+        int[] docs = new int[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (long key : packed) {
+            int doc = (int) (key >>> 32);
+            float score = parts.get((int) ((key >>> 26) & 0x3F)).score((int) (key & 0x3FFFFFF));
+            if (size > 0 && docs[size - 1] == doc) {
+                scores[size - 1] += score;
+            } else {
+                docs[size] = doc;
+                scores[size] = score;
+                size++;
+            }
+        }
+        return new Matches(docs, scores, null, 0f, size);
+    }
+
+    private float idf(Postings postings) {
+        return (float) Math.log(1 + (double) liveDocCount / postings.liveCount);
+    }
+
+    /**
+     * Posting list for one term: ascending doc ordinals and their weights
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+        private int liveCount;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            liveCount++;
+        }
+
+        void compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            liveCount = kept;
+        }
+    }
+
+    /**
+     * Scored docs for one query token, ascending by doc. Either a view over
+     * a posting list (weights * scale) or a materialized prefix union (scores).
+     */
+    private static final class Matches {
+
+        static final Matches EMPTY = new Matches(new int[0], new float[0], null, 0f, 0);
+
+        final int[] docs;
+        final float[] scores;
+        final int[] weights;
+        final float scale;
+        final int size;
+
+        Matches(int[] docs, float[] scores, int[] weights, float scale, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.weights = weights;
+            this.scale = scale;
+            this.size = size;
+        }
+
+        static Matches of(Postings postings, float idf, float factor) {
+            return new Matches(postings.docs, null, postings.weights, idf * factor, postings.size);
+        }
+
+        float score(int i) {
+            return scores != null ? scores[i] : weights[i] * scale;
+        }
+
+        // First position >= from whose doc >= target: short linear probe
+        // for dense lists, then galloping search
+        int advance(int from, int target) {
+            int linearEnd = Math.min(size, from + 8);
+            while (from < linearEnd) {
+                if (docs[from] >= target) {
+                    return from;
+                }
+                from++;
+            }
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            int step = 1;
+            int lo = from;
+            int hi = from + 1;
+            while (hi < size && docs[hi] < target) {
+                lo = hi;
+                step <<= 1;
+                hi = from + step;
+            }
+            hi = Math.min(hi, size);
+            int found = Arrays.binarySearch(docs, lo + 1, hi, target);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /**
+     * Bounded min-heap of (score, doc) packed into longs. Scores are positive,
+     * so their float bits order like the scores; ties favour the lower (older) doc.
+     */
+    private static final class TopK {
+
+        private final long[] heap;
+        private int size;
+
+        TopK(int capacity) {
+            heap = new long[capacity];
+        }
+
+        void offer(int doc, float score) {
+            long key = ((long) Float.floatToIntBits(score) << 32) | (Integer.MAX_VALUE - doc);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (heap.length > 0 && key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        int[] drainBestFirst() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            int[] docs = new int[size];
+            for (int i = 0; i < size; i++) {
+                docs[i] = Integer.MAX_VALUE - (int) (keys[size - 1 - i] & 0xFFFFFFFFL);
+            }
+            return docs;
+        }
+
+        private void siftUp(int i) {
+            long key = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        private void siftDown(int i) {
+            long key = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (key <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+    }
+}
@@ -3,30 +3,56 @@ package com.ecommerce.ecommerce_backend.service.product;
 import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.ProductRepository;
-import com.ecommerce.ecommerce_backend.repository.PremiumSubscriptionRepository;
+import com.ecommerce.ecommerce_backend.service.user.PremiumEntitlementService;
 import com.ecommerce.ecommerce_backend.repository.ProductSpecification;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private static final int EARLY_ACCESS_HOURS = 24;
+    // Relevance order pages over the best matches only; other sorts see every match
+    private static final int MAX_KEYWORD_MATCHES = 1000;
+    private static final int KEYWORD_ID_CHUNK = 500;
+    private static final String RELEVANCE_SORT = "relevance";
+
     private final ProductRepository productRepository;
-    private final PremiumSubscriptionRepository premiumSubscriptionRepository;
+    private final PremiumEntitlementService premiumEntitlementService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCountCache productCountCache;
+    private final CategoryTree categoryTree;
 
     public ProductService(ProductRepository productRepository,
-                          PremiumSubscriptionRepository premiumSubscriptionRepository) {
+                          PremiumEntitlementService premiumEntitlementService,
+                          ProductSearchIndex productSearchIndex,
+                          ProductCountCache productCountCache,
+                          CategoryTree categoryTree) {
         this.productRepository = productRepository;
-        this.premiumSubscriptionRepository = premiumSubscriptionRepository;
+        this.premiumEntitlementService = premiumEntitlementService;
+        this.productSearchIndex = productSearchIndex;
+        this.productCountCache = productCountCache;
+        this.categoryTree = categoryTree;
     }
 
     /**
-     * Get all products with premium early-access logic
+     * Get all products with premium early-access logic.
+     * With a keyword, sortBy "relevance" keeps the search index's ranking.
      */
     public Page<Product> getProducts(
             User user,
@@ -41,59 +67,123 @@ public class ProductService {
             Double minRating
     ) {
 
+        // 🔍 Build dynamic filters (keyword resolved in memory by the search index;
+        //    only the relevance order is capped to the best matches)
+        boolean relevance = RELEVANCE_SORT.equalsIgnoreCase(sortBy);
+        List<Long> keywordMatchIds = keyword != null && !keyword.isBlank()
+                ? productSearchIndex.search(keyword, relevance ? MAX_KEYWORD_MATCHES : Integer.MAX_VALUE)
+                : null;
+
+        // ⏳ Premium early access: guests and non-premium users don't see
+        //    products from the last 24 hours (filtered in the query, so pages stay full)
+        boolean fullAccess = user != null && premiumEntitlementService.isPremium(user);
+        LocalDateTime createdBefore = fullAccess
+                ? null
+                : LocalDateTime.now().minusHours(EARLY_ACCESS_HOURS);
+
+        // 🗂 A category includes its subcategories (range resolved in memory)
+        int[] categoryTreeRange = categoryTree.subtreeRange(categoryId);
+
         // 🧭 Sorting
-        Sort sort = direction.equalsIgnoreCase("asc")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = relevance
+                ? Sort.unsorted()
+                : direction.equalsIgnoreCase("asc")
+                        ? Sort.by(sortBy).ascending()
+                        : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // 🔍 Build dynamic filters
+        // ⭐ Keyword matches are filtered in SQL one bounded chunk of ids at a time,
+        //    then ordered and paged in memory
+        if (keywordMatchIds != null) {
+            Function<List<Long>, Specification<Product>> filters = ids -> ProductSpecification.withFilters(
+                    ids, categoryId, categoryTreeRange, minPrice, maxPrice, minRating, createdBefore);
+            return relevance
+                    ? relevancePage(keywordMatchIds, filters, pageable)
+                    : sortedKeywordPage(keywordMatchIds, filters, pageable);
+        }
+
         Specification<Product> spec =
                 ProductSpecification.withFilters(
-                        keyword,
+                        null,
                         categoryId,
+                        categoryTreeRange,
                         minPrice,
                         maxPrice,
-                        minRating
+                        minRating,
+                        createdBefore
                 );
 
-        Page<Product> pageResult =
-                productRepository.findAll(spec, pageable);
+        List<Product> content = productRepository.findPageContent(spec, pageable);
 
-        // 👤 GUEST USER → NOT PREMIUM
-        if (user == null) {
-            LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+        // 🔢 Total count is cached per filter combination, not re-run on every page flip
+        String countKey = String.join("|",
+                String.valueOf(categoryId),
+                String.valueOf(minPrice),
+                String.valueOf(maxPrice),
+                String.valueOf(minRating),
+                fullAccess ? "full" : "early-access-hidden");
 
-            return new PageImpl<>(
-                    pageResult.getContent().stream()
-                            .filter(p -> p.getCreatedAt().isBefore(cutoff))
-                            .toList(),
-                    pageable,
-                    pageResult.getTotalElements()
-            );
-        }
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> productCountCache.getCount(countKey, () -> productRepository.count(spec)));
+    }
 
-        // ⭐ LOGGED-IN USER → CHECK PREMIUM
-        boolean isPremium =
-                premiumSubscriptionRepository.existsByUserAndActiveTrue(user);
+    // The best MAX_KEYWORD_MATCHES in ranked order, minus those the other filters reject
+    private Page<Product> relevancePage(List<Long> rankedIds,
+                                        Function<List<Long>, Specification<Product>> filters,
+                                        Pageable pageable) {
+        Set<Long> passing = new HashSet<>();
+        for (int from = 0; from < rankedIds.size(); from += KEYWORD_ID_CHUNK) {
+            List<Long> chunk = rankedIds.subList(from, Math.min(from + KEYWORD_ID_CHUNK, rankedIds.size()));
+            passing.addAll(productRepository.findIds(filters.apply(chunk)));
+        }
+        List<Long> matches = rankedIds.stream().filter(passing::contains).toList();
+        return loadPage(matches, pageable);
+    }
 
-        if (!isPremium) {
-            LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+    // Every match that passes the filters, ordered by the requested column (id breaks ties)
+    private Page<Product> sortedKeywordPage(List<Long> matchIds,
+                                            Function<List<Long>, Specification<Product>> filters,
+                                            Pageable pageable) {
+        Sort.Order order = pageable.getSort().iterator().next();
 
-            return new PageImpl<>(
-                    pageResult.getContent().stream()
-                            .filter(p -> p.getCreatedAt().isBefore(cutoff))
-                            .toList(),
-                    pageable,
-                    pageResult.getTotalElements()
-            );
+        List<Object[]> rows = new ArrayList<>();
+        for (int from = 0; from < matchIds.size(); from += KEYWORD_ID_CHUNK) {
+            List<Long> chunk = matchIds.subList(from, Math.min(from + KEYWORD_ID_CHUNK, matchIds.size()));
+            rows.addAll(productRepository.findIdsWithSortKey(filters.apply(chunk), order.getProperty()));
         }
 
-        // ⭐ PREMIUM USER → FULL ACCESS
-        return pageResult;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<Object[]> byKey = Comparator.comparing(
+                row -> (Comparable) row[1], Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<Object[]> comparator = byKey.thenComparing(row -> (Long) row[0]);
+        rows.sort(order.isAscending() ? comparator : comparator.reversed());
+
+        List<Long> sorted = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            sorted.add((Long) row[0]);
+        }
+        return loadPage(sorted, pageable);
     }
 
+    // Only the requested page is loaded, with IN (:pageIds), and kept in the given order
+    private Page<Product> loadPage(List<Long> orderedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        List<Long> pageIds = orderedIds.subList(from, Math.min(from + pageable.getPageSize(), orderedIds.size()));
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, orderedIds.size());
+        }
+
+        Map<Long, Product> byId = productRepository.findListingByIdIn(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Product> content = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, orderedIds.size());
+    }
 
     /**
      * Get product by ID
@@ -104,16 +194,29 @@ public class ProductService {
     }
 
     /**
-     * Search products by name
+     * Search products by name, brand and description, best match first
      */
     public List<Product> searchProducts(String keyword) {
-        return productRepository.findByNameContainingIgnoreCase(keyword);
+        List<Long> rankedIds = productSearchIndex.search(keyword, MAX_SEARCH_RESULTS);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        // findAllById does not keep order; restore relevance order
+        Map<Long, Product> byId = productRepository.findAllById(rankedIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
      * Compare products (used for compare feature)
      */
     public List<Product> compareProducts(List<Long> productIds) {
-        return productRepository.findAllById(productIds);
+        return productRepository.findListingByIdIn(productIds);
     }
 }
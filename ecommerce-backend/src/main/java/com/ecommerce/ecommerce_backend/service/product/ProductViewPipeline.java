@@ -0,0 +1,167 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.service.user.RecentlyViewedService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Takes product view events off the request thread. {@link #publish} only
+ * appends to a bounded lock-free queue; when the queue is full the event is
+ * dropped and counted rather than blocking the caller. {@link #drain()} runs
+ * in the background, feeding views into the recently-viewed buffers and
+ * adding per-product view counts in one batch per pass. It runs on its own
+ * scheduler thread so a slow job elsewhere cannot hold the queue back.
+ */
+@Component
+public class ProductViewPipeline {
+
+    private final ProductRepository productRepository;
+    private final RecentlyViewedService recentlyViewedService;
+    private final int capacity;
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<ViewEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    // Counts not yet written; kept across passes if a write fails
+    private final Map<Long, Long> pendingCounts = new TreeMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LongAdder recentlyViewedDropped = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    public ProductViewPipeline(ProductRepository productRepository,
+                               RecentlyViewedService recentlyViewedService,
+                               @Value("${product-views.queue-capacity:10000}") int capacity,
+                               @Value("${product-views.batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.recentlyViewedService = recentlyViewedService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a view; never blocks. Returns false if the queue was full and the view was dropped.
+     * userId may be null for guests, whose views are only counted.
+     */
+    public boolean publish(Long userId, Long productId) {
+        int size = depth.incrementAndGet();
+        if (size > capacity) {
+            depth.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        maxDepth.accumulateAndGet(size, Math::max);
+
+        queue.offer(new ViewEvent(userId, productId, LocalDateTime.now()));
+        published.increment();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${product-views.drain-interval-ms:200}",
+            initialDelayString = "${product-views.drain-interval-ms:200}",
+            scheduler = "productViewScheduler")
+    public synchronized void drain() {
+        // Once loading a recently-viewed buffer fails, skip the rest of the pass instead of waiting on each one
+        boolean recordViews = true;
+        int taken;
+        do {
+            taken = 0;
+            ViewEvent event;
+            while (taken < batchSize && (event = queue.poll()) != null) {
+                depth.decrementAndGet();
+                taken++;
+
+                // Counted before anything can fail, so a polled view is never lost from the counts
+                pendingCounts.merge(event.productId, 1L, Long::sum);
+                if (event.userId != null) {
+                    recordViews = recordView(event, recordViews);
+                }
+            }
+
+            if (taken > 0) {
+                drained.add(taken);
+                batches.increment();
+            }
+            if (!writeCounts()) {
+                return;
+            }
+        } while (taken == batchSize);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        drain();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", depth.get());
+        stats.put("maxQueueDepth", maxDepth.get());
+        stats.put("capacity", capacity);
+        stats.put("published", published.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("drained", drained.sum());
+        stats.put("batches", batches.sum());
+        stats.put("writeFailures", writeFailures.sum());
+        stats.put("recentlyViewedDropped", recentlyViewedDropped.sum());
+        return stats;
+    }
+
+    // Returns false once recording has failed; the view is then counted as dropped from recently viewed
+    private boolean recordView(ViewEvent event, boolean recordViews) {
+        if (recordViews) {
+            try {
+                recentlyViewedService.recordView(event.userId, event.productId, event.viewedAt);
+                return true;
+            } catch (RuntimeException e) {
+                // fall through and drop it
+            }
+        }
+        recentlyViewedDropped.increment();
+        return false;
+    }
+
+    // Returns false if the counts could not be written and stay pending
+    private boolean writeCounts() {
+        if (pendingCounts.isEmpty()) {
+            return true;
+        }
+        try {
+            productRepository.addViewCounts(pendingCounts);
+        } catch (RuntimeException e) {
+            writeFailures.increment();
+            return false;
+        }
+        pendingCounts.clear();
+        return true;
+    }
+
+    private static final class ViewEvent {
+
+        final Long userId;
+        final Long productId;
+        final LocalDateTime viewedAt;
+
+        ViewEvent(Long userId, Long productId, LocalDateTime viewedAt) {
+            this.userId = userId;
+            this.productId = productId;
+            this.viewedAt = viewedAt;
+        }
+    }
+}
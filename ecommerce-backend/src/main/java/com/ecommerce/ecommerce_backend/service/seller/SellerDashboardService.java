@@ -1,11 +1,14 @@
 package com.ecommerce.ecommerce_backend.service.seller;
 
 import com.ecommerce.ecommerce_backend.enums.UserRole;
-import com.ecommerce.ecommerce_backend.model.OrderItem;
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
 import com.ecommerce.ecommerce_backend.model.User;
-import com.ecommerce.ecommerce_backend.repository.OrderItemRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,28 +16,79 @@ import java.util.Map;
 @Service
 public class SellerDashboardService {
 
-    private final OrderItemRepository orderItemRepository;
+    // Widest range a single daily-sales request may span
+    private static final long MAX_RANGE_DAYS = 366;
 
-    public SellerDashboardService(OrderItemRepository orderItemRepository) {
-        this.orderItemRepository = orderItemRepository;
+    private final SellerSalesRollupService rollupService;
+
+    public SellerDashboardService(SellerSalesRollupService rollupService) {
+        this.rollupService = rollupService;
     }
 
+    /**
+     * All-time totals plus today / this week (from Monday) / this month,
+     * read from the seller's daily rollups
+     */
     public Map<String, Object> getSellerSummary(User seller) {
         validateSeller(seller);
 
-        List<OrderItem> items = orderItemRepository.findBySeller(seller);
+        SellerSalesRollup totals = rollupService.getTotals(seller.getId());
+
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate from = weekStart.isBefore(monthStart) ? weekStart : monthStart;
 
-        double totalRevenue = items.stream()
-                .mapToDouble(i -> i.getPrice() * i.getQuantity())
-                .sum();
+        // At most ~37 rows cover all three periods
+        long todayOrders = 0, weekOrders = 0, monthOrders = 0;
+        double todayRevenue = 0, weekRevenue = 0, monthRevenue = 0;
+        for (SellerSalesRollup day : rollupService.getDaily(seller.getId(), from, today)) {
+            LocalDate date = day.getSalesDate();
+            if (date.equals(today)) {
+                todayOrders += day.getOrderCount();
+                todayRevenue += day.getRevenue();
+            }
+            if (!date.isBefore(weekStart)) {
+                weekOrders += day.getOrderCount();
+                weekRevenue += day.getRevenue();
+            }
+            if (!date.isBefore(monthStart)) {
+                monthOrders += day.getOrderCount();
+                monthRevenue += day.getRevenue();
+            }
+        }
 
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalOrders", items.size());
-        summary.put("totalRevenue", totalRevenue);
+        summary.put("totalOrders", (int) totals.getOrderCount());
+        summary.put("totalRevenue", totals.getRevenue());
+        summary.put("totalUnits", totals.getUnitsSold());
+        summary.put("todayOrders", todayOrders);
+        summary.put("todayRevenue", todayRevenue);
+        summary.put("weekOrders", weekOrders);
+        summary.put("weekRevenue", weekRevenue);
+        summary.put("monthOrders", monthOrders);
+        summary.put("monthRevenue", monthRevenue);
 
         return summary;
     }
 
+    /**
+     * Day-by-day sales between {@code from} and {@code to} (inclusive);
+     * days without sales are omitted
+     */
+    public List<SellerSalesRollup> getDailySales(User seller, LocalDate from, LocalDate to) {
+        validateSeller(seller);
+
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range too large");
+        }
+
+        return rollupService.getDaily(seller.getId(), from, to);
+    }
+
     private void validateSeller(User seller) {
         if (seller == null || seller.getRole() != UserRole.SELLER) {
             throw new RuntimeException("Seller access only");
@@ -1,32 +1,121 @@
 package com.ecommerce.ecommerce_backend.service.seller;
 
+import com.ecommerce.ecommerce_backend.dto.seller.OrderStatusUpdateResultDTO;
+import com.ecommerce.ecommerce_backend.dto.seller.SellerOrderDTO;
 import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.Order;
 import com.ecommerce.ecommerce_backend.model.OrderItem;
+import com.ecommerce.ecommerce_backend.model.OrderStatusHistory;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.OrderItemRepository;
 import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import com.ecommerce.ecommerce_backend.repository.OrderStatusHistoryRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class SellerOrderService {
 
+    // Largest number of orders one bulk status request may touch
+    private static final int MAX_BULK_ORDERS = 500;
+
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository historyRepository;
 
     public SellerOrderService(OrderItemRepository orderItemRepository,
-                              OrderRepository orderRepository) {
+                              OrderRepository orderRepository,
+                              OrderStatusHistoryRepository historyRepository) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
+        this.historyRepository = historyRepository;
+    }
+
+    /**
+     * Offset page of the seller's fulfillment queue (one entry per order),
+     * filtered, grouped and paged in the database
+     */
+    public Page<SellerOrderDTO> getSellerQueue(User seller, OrderStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+
+        List<Object[]> orders = orderRepository.findSellerQueue(seller, status, pageable);
+
+        return PageableExecutionUtils.getPage(toQueueEntries(orders), pageable,
+                () -> status == null
+                        ? orderItemRepository.countSellerOrders(seller)
+                        : orderRepository.countSellerQueueByStatus(seller, status));
     }
 
-    public List<OrderItem> getSellerOrders(User seller) {
-        return orderItemRepository
-                .findBySellerOrderByOrder_PriorityDescOrder_OrderDateAsc(seller);
+    /**
+     * Keyset page: the next {@code size} queue entries after the
+     * (priority, orderDate, id) cursor, without a count query
+     */
+    public List<SellerOrderDTO> getSellerQueueAfter(User seller, OrderStatus status,
+                                                    boolean cursorPriority, LocalDateTime cursorDate,
+                                                    Long cursorId, int size) {
+        List<Object[]> orders = new ArrayList<>(orderRepository.findSellerQueueBandAfterCursor(
+                seller, status, cursorPriority, cursorDate, cursorId, PageRequest.of(0, size)));
+
+        // Priority band exhausted: continue from the start of the regular band
+        if (cursorPriority && orders.size() < size) {
+            orders.addAll(orderRepository.findSellerQueueBand(
+                    seller, status, false, PageRequest.of(0, size - orders.size())));
+        }
+
+        return toQueueEntries(orders);
+    }
+
+    // Product details of each order's first seller line come from one primary-key IN query
+    private List<SellerOrderDTO> toQueueEntries(List<Object[]> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> firstItemIds = new ArrayList<>(orders.size());
+        for (Object[] order : orders) {
+            firstItemIds.add((Long) order[6]);
+        }
+        Map<Long, Object[]> lines = new HashMap<>();
+        for (Object[] line : orderItemRepository.findQueueLines(firstItemIds)) {
+            lines.put((Long) line[0], line);
+        }
+
+        List<SellerOrderDTO> entries = new ArrayList<>(orders.size());
+        for (Object[] order : orders) {
+            Long orderId = (Long) order[0];
+
+            SellerOrderDTO dto = new SellerOrderDTO();
+            dto.setId(orderId);
+            dto.setOrderNumber("ORD-" + orderId);
+            dto.setIsPremiumOrder((Boolean) order[1]);
+            dto.setCreatedAt((LocalDateTime) order[2]);
+            dto.setStatus(((OrderStatus) order[3]).name());
+            dto.setTotal((Double) order[4]);
+            dto.setItemCount(((Number) order[5]).intValue());
+            dto.setOrderItemId((Long) order[6]);
+
+            Object[] line = lines.get((Long) order[6]);
+            if (line != null) {
+                dto.setProductName((String) line[1]);
+                dto.setQuantity((Integer) line[2]);
+                dto.setPrice((Double) line[3]);
+            }
+            entries.add(dto);
+        }
+        return entries;
     }
 
     @Transactional
@@ -37,11 +126,7 @@ public class SellerOrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Validate that the seller owns at least one item in this order
-        List<OrderItem> sellerItems = orderItemRepository.findBySellerOrderByOrder_PriorityDescOrder_OrderDateAsc(seller);
-        boolean sellerOwnsItem = sellerItems.stream()
-                .anyMatch(item -> item.getOrder().getId().equals(orderId));
-
-        if (!sellerOwnsItem) {
+        if (!orderItemRepository.existsBySellerAndOrder_Id(seller, orderId)) {
             throw new RuntimeException("Unauthorized: You don't have items in this order");
         }
 
@@ -50,20 +135,98 @@ public class SellerOrderService {
         validateStatusTransition(currentStatus, newStatus);
 
         order.setStatus(newStatus);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        historyRepository.save(history(saved, newStatus, LocalDateTime.now()));
+        return saved;
     }
 
-    private void validateStatusTransition(OrderStatus current, OrderStatus newStatus) {
-        // Sellers can only:
-        // PLACED -> CONFIRMED (confirm order)
-        // CONFIRMED -> SHIPPED (mark as shipped)
+    /**
+     * Confirm or ship many orders at once. Each order succeeds or fails on its own;
+     * ownership is checked in one query, statuses move in one conditional JDBC batch
+     * and history rows are inserted in another.
+     */
+    @Transactional
+    public List<OrderStatusUpdateResultDTO> updateOrderStatuses(User seller, List<Long> orderIds,
+                                                               OrderStatus newStatus) {
+        validateSeller(seller);
 
-        if (current == OrderStatus.PLACED && newStatus == OrderStatus.CONFIRMED) {
-            return; // Valid: Confirming a new order
+        OrderStatus requiredStatus = requiredCurrentStatus(newStatus);
+        if (requiredStatus == null) {
+            throw new RuntimeException("Sellers can only confirm or ship orders");
         }
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new RuntimeException("No orders given");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        if (requested.size() > MAX_BULK_ORDERS) {
+            throw new RuntimeException("At most " + MAX_BULK_ORDERS + " orders per request");
+        }
+
+        // 1️⃣ Current status of the requested orders the seller has items in
+        Map<Long, OrderStatus> owned = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusesOwnedBySeller(seller, requested)) {
+            owned.put((Long) row[0], (OrderStatus) row[1]);
+        }
+
+        // 2️⃣ Move every eligible order; a 0 count means it changed since step 1
+        List<Long> eligible = new ArrayList<>();
+        for (Long orderId : requested) {
+            if (owned.get(orderId) == requiredStatus) {
+                eligible.add(orderId);
+            }
+        }
+        int[] updated = orderRepository.transitionStatus(eligible, requiredStatus, newStatus);
+
+        Set<Long> moved = new LinkedHashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                moved.add(eligible.get(i));
+            }
+        }
+
+        // 3️⃣ History rows for the orders that moved (one JDBC batch at flush)
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<OrderStatusHistory> history = new ArrayList<>(moved.size());
+        for (Long orderId : moved) {
+            history.add(history(orderRepository.getReferenceById(orderId), newStatus, changedAt));
+        }
+        historyRepository.saveAll(history);
 
-        if (current == OrderStatus.CONFIRMED && newStatus == OrderStatus.SHIPPED) {
-            return; // Valid: Shipping a confirmed order
+        // 4️⃣ Per-order results, in request order
+        List<OrderStatusUpdateResultDTO> results = new ArrayList<>(requested.size());
+        for (Long orderId : requested) {
+            OrderStatusUpdateResultDTO result = new OrderStatusUpdateResultDTO();
+            result.setOrderId(orderId);
+
+            OrderStatus current = owned.get(orderId);
+            if (moved.contains(orderId)) {
+                result.setSuccess(true);
+                result.setStatus(newStatus.name());
+            } else if (current == null) {
+                result.setMessage("Order not found or you don't have items in this order");
+            } else if (current != requiredStatus) {
+                result.setStatus(current.name());
+                result.setMessage(String.format("Cannot change from %s to %s", current, newStatus));
+            } else {
+                result.setMessage("Order status changed concurrently, please retry");
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private OrderStatusHistory history(Order order, OrderStatus status, LocalDateTime changedAt) {
+        OrderStatusHistory history = new OrderStatusHistory();
+        history.setOrder(order);
+        history.setStatus(status);
+        history.setChangedAt(changedAt);
+        return history;
+    }
+
+    private void validateStatusTransition(OrderStatus current, OrderStatus newStatus) {
+        if (current != null && current == requiredCurrentStatus(newStatus)) {
+            return;
         }
 
         throw new RuntimeException(
@@ -73,6 +236,19 @@ public class SellerOrderService {
         );
     }
 
+    // Sellers can only:
+    // PLACED -> CONFIRMED (confirm order)
+    // CONFIRMED -> SHIPPED (mark as shipped)
+    private OrderStatus requiredCurrentStatus(OrderStatus newStatus) {
+        if (newStatus == OrderStatus.CONFIRMED) {
+            return OrderStatus.PLACED;
+        }
+        if (newStatus == OrderStatus.SHIPPED) {
+            return OrderStatus.CONFIRMED;
+        }
+        return null;
+    }
+
     public void updateOrderItemStatus(User seller,
                                       OrderItem orderItem,
                                       OrderStatus status) {
@@ -6,6 +6,9 @@ import com.ecommerce.ecommerce_backend.model.Product;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
 import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.service.product.ProductCountCache;
+import com.ecommerce.ecommerce_backend.service.product.ProductSearchIndex;
+import com.ecommerce.ecommerce_backend.service.user.HotCartStore;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -16,11 +19,20 @@ public class SellerProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCountCache productCountCache;
+    private final HotCartStore hotCartStore;
 
     public SellerProductService(ProductRepository productRepository,
-                                CategoryRepository categoryRepository) {
+                                CategoryRepository categoryRepository,
+                                ProductSearchIndex productSearchIndex,
+                                ProductCountCache productCountCache,
+                                HotCartStore hotCartStore) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productCountCache = productCountCache;
+        this.hotCartStore = hotCartStore;
     }
 
     public Product addProduct(User seller, Product product, Long categoryId) {
@@ -33,7 +45,10 @@ public class SellerProductService {
         product.setCategory(category);
         product.setCreatedAt(LocalDateTime.now());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productCountCache.invalidateAll();
+        return saved;
     }
 
     public Product updateProduct(User seller, Long productId, Product updated) {
@@ -55,7 +70,12 @@ public class SellerProductService {
         product.setBrand(updated.getBrand());
         product.setPremiumEarlyAccess(updated.getPremiumEarlyAccess());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productCountCache.invalidateAll();
+        // Carts holding it show the new name and price on their next read
+        hotCartStore.productChanged(productId);
+        return saved;
     }
 
     public void disableProduct(User seller, Long productId) {
@@ -70,6 +90,9 @@ public class SellerProductService {
 
         // Actually delete the product
         productRepository.delete(product);
+        productSearchIndex.remove(productId);
+        productCountCache.invalidateAll();
+        hotCartStore.productChanged(productId);
     }
 
     public List<Product> getSellerProducts(User seller) {
@@ -0,0 +1,130 @@
+package com.ecommerce.ecommerce_backend.service.seller;
+
+import com.ecommerce.ecommerce_backend.enums.OrderStatus;
+import com.ecommerce.ecommerce_backend.model.Order;
+import com.ecommerce.ecommerce_backend.model.OrderItem;
+import com.ecommerce.ecommerce_backend.model.SellerSalesRollup;
+import com.ecommerce.ecommerce_backend.repository.OrderItemRepository;
+import com.ecommerce.ecommerce_backend.repository.SellerSalesRollupRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-seller daily sales rollups.
+ * Checkout adds each seller's share to the order day's row; cancelling or
+ * refunding an order takes it back out of the same row.
+ */
+@Service
+public class SellerSalesRollupService {
+
+    // Orders in these states no longer count as sales
+    private static final Set<OrderStatus> REVERSED =
+            EnumSet.of(OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+
+    private final SellerSalesRollupRepository rollupRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    public SellerSalesRollupService(SellerSalesRollupRepository rollupRepository,
+                                    OrderItemRepository orderItemRepository) {
+        this.rollupRepository = rollupRepository;
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    /**
+     * Seed the rollups from existing orders the first time the table is empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+
+        List<SellerSalesRollup> rollups = new ArrayList<>();
+        for (Object[] row : orderItemRepository.sumSalesBySellerAndDay(REVERSED)) {
+            SellerSalesRollup rollup = new SellerSalesRollup((Long) row[0], (LocalDate) row[1]);
+            rollup.setOrderCount(((Number) row[2]).longValue());
+            rollup.setUnitsSold(((Number) row[3]).longValue());
+            rollup.setRevenue(((Number) row[4]).doubleValue());
+            rollups.add(rollup);
+        }
+        rollupRepository.saveAll(rollups);
+    }
+
+    // ---------- events ----------
+
+    public void orderPlaced(Order order, List<OrderItem> items) {
+        apply(order, items, 1);
+    }
+
+    /**
+     * Called after an order's status changed from {@code previous};
+     * only moves into or out of a cancelled/refunded state touch the rollups
+     */
+    public void orderStatusChanged(Order order, OrderStatus previous) {
+        boolean wasCounted = !REVERSED.contains(previous);
+        boolean isCounted = !REVERSED.contains(order.getStatus());
+        if (wasCounted == isCounted) {
+            return;
+        }
+        apply(order, orderItemRepository.findByOrder(order), isCounted ? 1 : -1);
+    }
+
+    // ---------- reads ----------
+
+    /**
+     * Daily rows for the seller between {@code from} and {@code to}, both inclusive
+     */
+    public List<SellerSalesRollup> getDaily(Long sellerId, LocalDate from, LocalDate to) {
+        return rollupRepository.findBySellerIdAndSalesDateBetweenOrderBySalesDateAsc(sellerId, from, to);
+    }
+
+    /**
+     * All-time [orders, units, revenue] for the seller
+     */
+    public SellerSalesRollup getTotals(Long sellerId) {
+        Object[] sums = rollupRepository.sumBySeller(sellerId).get(0);
+
+        SellerSalesRollup totals = new SellerSalesRollup();
+        totals.setSellerId(sellerId);
+        totals.setOrderCount(((Number) sums[0]).longValue());
+        totals.setUnitsSold(((Number) sums[1]).longValue());
+        totals.setRevenue(((Number) sums[2]).doubleValue());
+        return totals;
+    }
+
+    // One upsert per seller in the order; sellers in id order so concurrent
+    // checkouts lock rollup rows in the same sequence
+    private void apply(Order order, List<OrderItem> items, int sign) {
+        LocalDate day = order.getOrderDate().toLocalDate();
+
+        Map<Long, SellerSalesRollup> bySeller = new TreeMap<>();
+        for (OrderItem item : items) {
+            if (item.getSeller() == null) {
+                continue;
+            }
+            Long sellerId = item.getSeller().getId();
+            SellerSalesRollup delta = bySeller.computeIfAbsent(sellerId, id -> {
+                SellerSalesRollup rollup = new SellerSalesRollup(id, day);
+                rollup.setOrderCount(sign);
+                return rollup;
+            });
+            delta.setUnitsSold(delta.getUnitsSold() + (long) sign * item.getQuantity());
+            delta.setRevenue(delta.getRevenue() + sign * item.getPrice() * item.getQuantity());
+        }
+
+        for (SellerSalesRollup delta : bySeller.values()) {
+            rollupRepository.addDelta(delta);
+        }
+    }
+}
@@ -5,15 +5,22 @@ import com.ecommerce.ecommerce_backend.model.UserAddress;
 import com.ecommerce.ecommerce_backend.repository.UserAddressRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AddressService {
 
+    private static final int MAX_BULK_PINCODES = 500;
+
     private final UserAddressRepository addressRepository;
+    private final PincodeServiceabilityIndex serviceabilityIndex;
 
-    public AddressService(UserAddressRepository addressRepository) {
+    public AddressService(UserAddressRepository addressRepository,
+                          PincodeServiceabilityIndex serviceabilityIndex) {
         this.addressRepository = addressRepository;
+        this.serviceabilityIndex = serviceabilityIndex;
     }
 
     public UserAddress addAddress(User user, UserAddress address) {
@@ -30,6 +37,23 @@ public class AddressService {
         return addressRepository.findByUser(user);
     }
 
+    public boolean isServiceable(String pincode) {
+        return serviceabilityIndex.isServiceable(pincode);
+    }
+
+    /**
+     * Serviceability of many pincodes at once, answered from memory
+     */
+    public Map<String, Boolean> checkServiceability(Collection<String> pincodes) {
+        if (pincodes == null || pincodes.isEmpty()) {
+            throw new RuntimeException("No pincodes given");
+        }
+        if (pincodes.size() > MAX_BULK_PINCODES) {
+            throw new RuntimeException("At most " + MAX_BULK_PINCODES + " pincodes per request");
+        }
+        return serviceabilityIndex.areServiceable(pincodes);
+    }
+
     public UserAddress updateAddress(User user, Long addressId, UserAddress updated) {
         UserAddress address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new RuntimeException("Address not found"));
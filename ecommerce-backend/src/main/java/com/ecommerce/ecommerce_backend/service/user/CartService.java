@@ -1,5 +1,7 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO;
+import com.ecommerce.ecommerce_backend.dto.cart.CartResponseDTO;
 import com.ecommerce.ecommerce_backend.model.*;
 import com.ecommerce.ecommerce_backend.repository.CartItemRepository;
 import com.ecommerce.ecommerce_backend.repository.CartRepository;
@@ -7,6 +9,7 @@ import com.ecommerce.ecommerce_backend.repository.ProductRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -15,13 +18,19 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final HotCartStore hotCartStore;
+    private final CouponOptimizer couponOptimizer;
 
     public CartService(CartRepository cartRepository,
                        CartItemRepository cartItemRepository,
-                       ProductRepository productRepository) {
+                       ProductRepository productRepository,
+                       HotCartStore hotCartStore,
+                       CouponOptimizer couponOptimizer) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
+        this.hotCartStore = hotCartStore;
+        this.couponOptimizer = couponOptimizer;
     }
 
     public Cart getCart(User user) {
@@ -34,17 +43,12 @@ public class CartService {
                 });
     }
 
-    public CartItem addItem(User user, Long productId, int quantity) {
-        Cart cart = getCart(user);
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-
-        CartItem item = new CartItem();
-        item.setCart(cart);
-        item.setProduct(product);
-        item.setQuantity(quantity);
-
-        return cartItemRepository.save(item);
+    /**
+     * Adds to the existing line for the product, or creates it; returns the updated cart
+     */
+    public CartResponseDTO addItem(User user, Long productId, int quantity) {
+        validateQuantity(quantity);
+        return toResponse(hotCartStore.addQuantity(user, productId, quantity), List.of());
     }
 
     public List<CartItem> getCartItems(User user) {
@@ -52,35 +56,66 @@ public class CartService {
         return cartItemRepository.findByCart(cart);
     }
 
+    /**
+     * Cart lines with product details and totals; served from memory once the cart is hot
+     */
+    public CartResponseDTO viewCart(User user) {
+        return viewCart(user, null);
+    }
+
+    /**
+     * Same, priced with the best combination of the customer's own coupon
+     * codes (comma-separated); no codes, no discount
+     */
+    public CartResponseDTO viewCart(User user, String couponCodes) {
+        return toResponse(hotCartStore.snapshot(user.getId()), CouponOptimizer.parseCodes(couponCodes));
+    }
+
     public void clearCart(User user) {
-        Cart cart = getCart(user);
-        cartItemRepository.deleteByCart(cart);
+        hotCartStore.clear(user.getId());
     }
 
-    public CartItem updateItemQuantity(User user, Long cartItemId, int quantity) {
-        Cart cart = getCart(user);
-        CartItem item = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
+    public CartResponseDTO updateItemQuantity(User user, Long cartItemId, int quantity) {
+        validateQuantity(quantity);
 
-        // Verify item belongs to user's cart
-        if (!item.getCart().getId().equals(cart.getId())) {
-            throw new RuntimeException("Cart item does not belong to user");
-        }
+        // Scoped to the user's cart, so another user's item is simply not found
+        return toResponse(hotCartStore.updateQuantity(user.getId(), cartItemId, quantity), List.of());
+    }
 
-        item.setQuantity(quantity);
-        return cartItemRepository.save(item);
+    public CartResponseDTO removeItem(User user, Long cartItemId) {
+        return toResponse(hotCartStore.removeItem(user.getId(), cartItemId), List.of());
     }
 
-    public void removeItem(User user, Long cartItemId) {
-        Cart cart = getCart(user);
-        CartItem item = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
+    private CartResponseDTO toResponse(HotCartStore.Snapshot cart, List<String> couponCodes) {
+        List<CartItemDTO> items = cart.getItems();
 
-        // Verify item belongs to user's cart
-        if (!item.getCart().getId().equals(cart.getId())) {
-            throw new RuntimeException("Cart item does not belong to user");
+        double totalAmount = 0;
+        for (CartItemDTO item : items) {
+            totalAmount += item.getSubtotal();
         }
 
-        cartItemRepository.delete(item);
+        CouponOptimizer.Result coupons = couponOptimizer.optimize(couponCodes, couponLines(items));
+
+        CartResponseDTO response = new CartResponseDTO();
+        response.setItems(items);
+        response.setTotalAmount(totalAmount);
+        response.setDiscountAmount(coupons.getDiscount());
+        response.setFinalAmount(totalAmount - coupons.getDiscount());
+        response.setAppliedCoupon(coupons.getCodes());
+        return response;
+    }
+
+    static List<CouponEngine.Line> couponLines(List<CartItemDTO> items) {
+        List<CouponEngine.Line> lines = new ArrayList<>(items.size());
+        for (CartItemDTO item : items) {
+            lines.add(new CouponEngine.Line(item.getSellerId(), item.getCategoryId(), item.getSubtotal()));
+        }
+        return lines;
+    }
+
+    private void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new RuntimeException("Quantity must be at least 1");
+        }
     }
 }
@@ -0,0 +1,248 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.model.Coupon;
+import com.ecommerce.ecommerce_backend.repository.CouponRepository;
+import com.ecommerce.ecommerce_backend.service.product.CategoryTree;
+import com.ecommerce.ecommerce_backend.util.CouponCalculatorUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates coupons from an in-memory copy of the active coupon definitions,
+ * keyed by upper-case code. Validity window, minimum order value and usage
+ * limit are all checked without touching the database; only a redemption
+ * does, as a conditional used_count increment that cannot pass usageLimit.
+ * A coupon scoped to a seller or category only discounts the matching lines;
+ * a category scope includes its subcategories.
+ * {@link #reload()} must run after every coupon change.
+ */
+@Component
+public class CouponEngine {
+
+    private final CouponRepository couponRepository;
+    private final CategoryTree categoryTree;
+
+    private volatile Map<String, CompiledCoupon> coupons = Map.of();
+
+    public CouponEngine(CouponRepository couponRepository, CategoryTree categoryTree) {
+        this.couponRepository = couponRepository;
+        this.categoryTree = categoryTree;
+    }
+
+    // Synchronized so an older load can never be swapped in over a newer one
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<String, CompiledCoupon> loaded = new HashMap<>();
+        for (Coupon coupon : couponRepository.findByActiveTrue()) {
+            String code = normalize(coupon.getCode());
+            if (code != null) {
+                loaded.put(code, new CompiledCoupon(coupon));
+            }
+        }
+        coupons = Map.copyOf(loaded);
+    }
+
+    public Evaluation evaluate(String couponCode, double orderAmount) {
+        return evaluate(couponCode, orderAmount, LocalDateTime.now());
+    }
+
+    // Against a bare amount, with no lines to scope by
+    public Evaluation evaluate(String couponCode, double orderAmount, LocalDateTime now) {
+        CompiledCoupon compiled = lookup(couponCode);
+        if (compiled == null) {
+            return Evaluation.rejected(couponCode, "Invalid coupon code");
+        }
+        String rejection = checkAvailable(compiled, now);
+        if (rejection != null) {
+            return Evaluation.rejected(compiled.coupon.getCode(), rejection);
+        }
+        return price(compiled, orderAmount, new BitSet());
+    }
+
+    public Evaluation evaluate(String couponCode, List<Line> lines) {
+        return evaluate(couponCode, lines, LocalDateTime.now());
+    }
+
+    public Evaluation evaluate(String couponCode, List<Line> lines, LocalDateTime now) {
+        CompiledCoupon compiled = lookup(couponCode);
+        if (compiled == null) {
+            return Evaluation.rejected(couponCode, "Invalid coupon code");
+        }
+        return evaluate(compiled, lines, now);
+    }
+
+    /**
+     * Take one redemption of an evaluated coupon inside the caller's transaction,
+     * so it is undone if the order rolls back. Returns false once the limit is used up.
+     */
+    public boolean redeem(Evaluation evaluation) {
+        if (!evaluation.valid) {
+            return false;
+        }
+        CompiledCoupon compiled = evaluation.compiled;
+
+        if (couponRepository.incrementUsedCount(compiled.coupon.getId()) == 0) {
+            // Used up (possibly by another instance); reject further attempts from memory
+            compiled.usedCount.accumulateAndGet(compiled.coupon.getUsageLimit(), Math::max);
+            return false;
+        }
+
+        // The in-memory count must never run ahead of committed redemptions
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    compiled.usedCount.incrementAndGet();
+                }
+            });
+        } else {
+            compiled.usedCount.incrementAndGet();
+        }
+        return true;
+    }
+
+    private Evaluation evaluate(CompiledCoupon compiled, List<Line> lines, LocalDateTime now) {
+        String rejection = checkAvailable(compiled, now);
+        if (rejection != null) {
+            return Evaluation.rejected(compiled.coupon.getCode(), rejection);
+        }
+
+        BitSet matching = new BitSet(lines.size());
+        double eligibleAmount = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (compiled.matches(lines.get(i), categoryTree)) {
+                matching.set(i);
+                eligibleAmount += lines.get(i).amount;
+            }
+        }
+        if (matching.isEmpty()) {
+            return Evaluation.rejected(compiled.coupon.getCode(), "Coupon does not apply to any item in the cart");
+        }
+        return price(compiled, eligibleAmount, matching);
+    }
+
+    // Window and limit; null when the coupon can be used now
+    private static String checkAvailable(CompiledCoupon compiled, LocalDateTime now) {
+        Coupon coupon = compiled.coupon;
+        if (coupon.getValidFrom() != null && now.isBefore(coupon.getValidFrom())) {
+            return "Coupon is not active yet";
+        }
+        if (coupon.getValidUntil() != null && now.isAfter(coupon.getValidUntil())) {
+            return "Coupon has expired";
+        }
+        if (compiled.usedCount.get() >= coupon.getUsageLimit()) {
+            return "Coupon usage limit reached";
+        }
+        return null;
+    }
+
+    private static Evaluation price(CompiledCoupon compiled, double eligibleAmount, BitSet matching) {
+        Coupon coupon = compiled.coupon;
+        if (eligibleAmount < coupon.getMinOrderValue()) {
+            return Evaluation.rejected(coupon.getCode(),
+                    "Minimum order value for this coupon is " + coupon.getMinOrderValue());
+        }
+
+        // A fixed discount never takes the eligible amount below zero
+        double discount = Math.min(CouponCalculatorUtil.calculateDiscount(coupon, eligibleAmount), eligibleAmount);
+        return new Evaluation(compiled, coupon.getCode(), true, null, discount, matching);
+    }
+
+    private CompiledCoupon lookup(String couponCode) {
+        String code = normalize(couponCode);
+        return code == null ? null : coupons.get(code);
+    }
+
+    private static String normalize(String code) {
+        if (code == null || code.trim().isEmpty()) {
+            return null;
+        }
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * One cart line as coupons see it: who sells it, its category, and its amount
+     */
+    public static final class Line {
+
+        final Long sellerId;
+        final Long categoryId;
+        final double amount;
+
+        public Line(Long sellerId, Long categoryId, double amount) {
+            this.sellerId = sellerId;
+            this.categoryId = categoryId;
+            this.amount = amount;
+        }
+    }
+
+    public static final class Evaluation {
+
+        private final CompiledCoupon compiled;
+        private final String code;
+        private final boolean valid;
+        private final String message;
+        private final double discount;
+        // Indexes of the lines this coupon discounts; empty when priced against a bare amount
+        final BitSet lines;
+
+        private Evaluation(CompiledCoupon compiled, String code, boolean valid, String message,
+                           double discount, BitSet lines) {
+            this.compiled = compiled;
+            this.code = code;
+            this.valid = valid;
+            this.message = message;
+            this.discount = discount;
+            this.lines = lines;
+        }
+
+        static Evaluation rejected(String code, String message) {
+            return new Evaluation(null, code, false, message, 0, new BitSet());
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public double getDiscount() {
+            return discount;
+        }
+    }
+
+    private static final class CompiledCoupon {
+
+        // Detached copy; never modified after load
+        final Coupon coupon;
+        // Committed redemptions as last seen; never ahead of the database
+        final AtomicInteger usedCount;
+
+        CompiledCoupon(Coupon coupon) {
+            this.coupon = coupon;
+            this.usedCount = new AtomicInteger(coupon.getUsedCount());
+        }
+
+        boolean matches(Line line, CategoryTree categoryTree) {
+            return (coupon.getSellerId() == null || coupon.getSellerId().equals(line.sellerId))
+                    && (coupon.getCategoryId() == null || categoryTree.isWithin(line.categoryId, coupon.getCategoryId()));
+        }
+    }
+}
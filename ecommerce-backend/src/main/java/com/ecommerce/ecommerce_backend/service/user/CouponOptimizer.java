@@ -0,0 +1,193 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Picks the combination of the customer's coupon codes that takes the most
+ * off a cart. Only codes the customer supplied are considered, never every
+ * active coupon. Coupons stack as long as no cart line is discounted twice,
+ * so a cart-wide coupon competes with all others while seller and category
+ * coupons can combine on separate lines. The search is branch and bound over the best
+ * few candidates with a fixed node budget, so its cost does not grow with
+ * the number of coupons; when the budget runs out the best combination found
+ * so far (at least the greedy one) is used.
+ */
+@Component
+public class CouponOptimizer {
+
+    private final CouponEngine couponEngine;
+    private final int maxCandidates;
+    private final int maxSearchNodes;
+
+    public CouponOptimizer(CouponEngine couponEngine,
+                           @Value("${coupons.optimizer.max-candidates:16}") int maxCandidates,
+                           @Value("${coupons.optimizer.max-search-nodes:20000}") int maxSearchNodes) {
+        this.couponEngine = couponEngine;
+        this.maxCandidates = maxCandidates;
+        this.maxSearchNodes = maxSearchNodes;
+    }
+
+    /**
+     * Codes from a comma-separated list, normalized and without duplicates, in the given order
+     */
+    public static List<String> parseCodes(String codes) {
+        if (codes == null) {
+            return List.of();
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String code : codes.split(",")) {
+            if (!code.trim().isEmpty()) {
+                parsed.add(code.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    public Result optimize(Collection<String> codes, List<CouponEngine.Line> lines) {
+        if (codes.isEmpty() || lines.isEmpty()) {
+            return new Result(List.of(), null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CouponEngine.Evaluation> candidates = new ArrayList<>();
+        String rejection = null;
+        for (String code : codes) {
+            CouponEngine.Evaluation evaluation = couponEngine.evaluate(code, lines, now);
+            if (!evaluation.isValid()) {
+                rejection = rejection != null ? rejection : evaluation.getMessage();
+            } else if (evaluation.getDiscount() > 0) {
+                candidates.add(evaluation);
+            }
+        }
+
+        // Largest standalone discount first: the first path explored is the greedy pick
+        candidates.sort((a, b) -> Double.compare(b.getDiscount(), a.getDiscount()));
+        if (candidates.size() > maxCandidates) {
+            candidates = new ArrayList<>(candidates.subList(0, maxCandidates));
+        }
+
+        Search search = new Search(candidates, maxSearchNodes);
+        search.run(0, new BitSet(), 0);
+
+        List<CouponEngine.Evaluation> chosen = new ArrayList<>();
+        for (int i = search.best.nextSetBit(0); i >= 0; i = search.best.nextSetBit(i + 1)) {
+            chosen.add(candidates.get(i));
+        }
+        return new Result(chosen, rejection);
+    }
+
+    /**
+     * Take one redemption of each chosen coupon inside the caller's transaction.
+     * A coupon used up since it was evaluated is skipped; the result holds only
+     * the coupons actually redeemed.
+     */
+    public Result redeem(Result best) {
+        List<CouponEngine.Evaluation> redeemed = new ArrayList<>();
+        String rejection = best.rejection;
+        for (CouponEngine.Evaluation coupon : best.coupons) {
+            if (couponEngine.redeem(coupon)) {
+                redeemed.add(coupon);
+            } else if (rejection == null) {
+                rejection = "Coupon usage limit reached";
+            }
+        }
+        return new Result(redeemed, rejection);
+    }
+
+    public static final class Result {
+
+        private final List<CouponEngine.Evaluation> coupons;
+        private final double discount;
+        private final String rejection;
+
+        Result(List<CouponEngine.Evaluation> coupons, String rejection) {
+            this.coupons = List.copyOf(coupons);
+            this.rejection = rejection;
+            double total = 0;
+            for (CouponEngine.Evaluation coupon : coupons) {
+                total += coupon.getDiscount();
+            }
+            this.discount = total;
+        }
+
+        public List<CouponEngine.Evaluation> getCoupons() {
+            return coupons;
+        }
+
+        public double getDiscount() {
+            return discount;
+        }
+
+        // Why a supplied code was not used: the first rejection, or null
+        public String getRejection() {
+            return rejection;
+        }
+
+        // Comma-separated, in the order the coupons were picked; null when none apply
+        public String getCodes() {
+            if (coupons.isEmpty()) {
+                return null;
+            }
+            StringBuilder codes = new StringBuilder();
+            for (CouponEngine.Evaluation coupon : coupons) {
+                if (codes.length() > 0) {
+                    codes.append(',');
+                }
+                codes.append(coupon.getCode());
+            }
+            return codes.toString();
+        }
+    }
+
+    private static final class Search {
+
+        final List<CouponEngine.Evaluation> candidates;
+        // remaining[i] = sum of discounts of candidates i..n-1, the bound for a branch
+        final double[] remaining;
+        int nodesLeft;
+
+        BitSet best = new BitSet();
+        double bestDiscount;
+        final BitSet picked = new BitSet();
+
+        Search(List<CouponEngine.Evaluation> candidates, int maxNodes) {
+            this.candidates = candidates;
+            this.remaining = new double[candidates.size() + 1];
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                remaining[i] = remaining[i + 1] + candidates.get(i).getDiscount();
+            }
+            this.nodesLeft = maxNodes;
+        }
+
+        void run(int index, BitSet usedLines, double discount) {
+            if (discount > bestDiscount) {
+                bestDiscount = discount;
+                best = (BitSet) picked.clone();
+            }
+            if (index == candidates.size() || nodesLeft-- <= 0
+                    || discount + remaining[index] <= bestDiscount) {
+                return;
+            }
+
+            CouponEngine.Evaluation candidate = candidates.get(index);
+            if (!candidate.lines.intersects(usedLines)) {
+                BitSet withCandidate = (BitSet) usedLines.clone();
+                withCandidate.or(candidate.lines);
+                picked.set(index);
+                run(index + 1, withCandidate, discount + candidate.getDiscount());
+                picked.clear(index);
+            }
+            run(index + 1, usedLines, discount);
+        }
+    }
+}
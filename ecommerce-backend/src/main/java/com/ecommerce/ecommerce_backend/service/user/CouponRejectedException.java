@@ -0,0 +1,13 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+/**
+ * None of the coupon codes the customer gave could be applied; the message says why
+ */
+public class CouponRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CouponRejectedException(String message) {
+        super(message);
+    }
+}
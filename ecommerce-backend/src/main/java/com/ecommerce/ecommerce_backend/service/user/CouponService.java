@@ -1,41 +1,53 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO;
 import com.ecommerce.ecommerce_backend.dto.coupon.CouponResponseDTO;
-import com.ecommerce.ecommerce_backend.model.Coupon;
-import com.ecommerce.ecommerce_backend.repository.CouponRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class CouponService {
 
-    private final CouponRepository couponRepository;
+    private final CouponEngine couponEngine;
+    private final CouponOptimizer couponOptimizer;
 
-    public CouponService(CouponRepository couponRepository) {
-        this.couponRepository = couponRepository;
+    public CouponService(CouponEngine couponEngine, CouponOptimizer couponOptimizer) {
+        this.couponEngine = couponEngine;
+        this.couponOptimizer = couponOptimizer;
     }
 
     /**
-     * Apply coupon by code
+     * Preview a coupon against an order amount: validity window, usage limit
+     * and minimum order value are checked, nothing is redeemed
      */
-    public CouponResponseDTO applyCoupon(String couponCode) {
-
-        CouponResponseDTO response = new CouponResponseDTO();
-
-        Coupon coupon = couponRepository.findByCode(couponCode)
-                .orElse(null);
+    public CouponResponseDTO applyCoupon(String couponCode, double orderAmount) {
+        return toResponse(couponEngine.evaluate(couponCode, orderAmount));
+    }
 
-        if (coupon == null || !coupon.isActive()) {
-            response.setApplied(false);
-            response.setCode(couponCode);
-            response.setDiscountAmount(0);
-            return response;
-        }
+    /**
+     * Preview one or more comma-separated codes against cart lines, so seller and
+     * category scopes are honoured; reports the best combination of them
+     */
+    public CouponResponseDTO applyCoupon(String couponCodes, List<CartItemDTO> items) {
+        CouponOptimizer.Result best = couponOptimizer.optimize(
+                CouponOptimizer.parseCodes(couponCodes), CartService.couponLines(items));
+        boolean applied = !best.getCoupons().isEmpty();
 
-        // For now: return discount value directly
-        response.setApplied(true);
-        response.setCode(coupon.getCode());
-        response.setDiscountAmount(coupon.getDiscountValue());
+        CouponResponseDTO response = new CouponResponseDTO();
+        response.setCode(applied ? best.getCodes() : couponCodes);
+        response.setApplied(applied);
+        response.setDiscountAmount(best.getDiscount());
+        response.setMessage(applied ? null : best.getRejection());
+        return response;
+    }
 
+    private CouponResponseDTO toResponse(CouponEngine.Evaluation evaluation) {
+        CouponResponseDTO response = new CouponResponseDTO();
+        response.setCode(evaluation.getCode());
+        response.setApplied(evaluation.isValid());
+        response.setDiscountAmount(evaluation.getDiscount());
+        response.setMessage(evaluation.getMessage());
         return response;
     }
 }
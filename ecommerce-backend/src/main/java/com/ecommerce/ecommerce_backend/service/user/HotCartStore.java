@@ -0,0 +1,372 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO;
+import com.ecommerce.ecommerce_backend.model.Cart;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.CartItemRepository;
+import com.ecommerce.ecommerce_backend.repository.CartRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process tier for active users' carts, keyed by user id. Reads are served
+ * from memory once a cart is loaded. Writes are write-through: each change is
+ * applied to cart_items first and only then to memory, under a lock striped by
+ * user id, so memory never holds anything the database does not. Each cached
+ * cart is an immutable snapshot replaced on every change, so readers take no
+ * lock. Carts idle for longer than cart.cache.idle-minutes are evicted.
+ *
+ * Product name and price shown in the cart are captured when a line is loaded
+ * or changed; {@link #productChanged(Long)} drops every cart holding a product
+ * whose details changed, so the next read shows current values. Checkout always
+ * prices from the product rows. Caching assumes this instance is the only
+ * writer of cart_items and products; set cart.cache.enabled=false when it is not.
+ */
+@Component
+public class HotCartStore {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final long idleNanos;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<Long, HotCart> carts = new ConcurrentHashMap<>();
+    private final Object[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public HotCartStore(CartRepository cartRepository,
+                        CartItemRepository cartItemRepository,
+                        @Value("${cart.cache.idle-minutes:30}") long idleMinutes,
+                        @Value("${cart.cache.lock-stripes:64}") int lockStripes,
+                        @Value("${cart.cache.enabled:true}") boolean enabled) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.idleNanos = idleMinutes * 60_000_000_000L;
+        this.enabled = enabled;
+
+        // Power of two, so the stripe is a mask of the user id hash
+        this.stripes = new Object[Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * The user's cart as one consistent snapshot; later changes never show through it
+     */
+    public Snapshot snapshot(Long userId) {
+        HotCart cart = carts.get(userId);
+        if (cart != null) {
+            hits.increment();
+            cart.lastAccess = System.nanoTime();
+            return cart.snapshot;
+        }
+        synchronized (stripe(userId)) {
+            return loaded(userId).snapshot;
+        }
+    }
+
+    public Snapshot addQuantity(User user, Long productId, int quantity) {
+        Long userId = user.getId();
+        synchronized (stripe(userId)) {
+            HotCart cart = loaded(userId);
+            try {
+                Long cartId = cart.snapshot.cartId != null ? cart.snapshot.cartId : createCart(user);
+
+                if (cartItemRepository.addQuantity(cartId, productId, quantity) == 0) {
+                    throw new RuntimeException("Product not found");
+                }
+                // Re-read the line so new lines get their id and the price is current
+                CartItemDTO line = cartItemRepository.findViewByCartIdAndProductId(cartId, productId)
+                        .orElseThrow(() -> new RuntimeException("Product not found"));
+
+                List<CartItemDTO> lines = new ArrayList<>(cart.snapshot.lines);
+                int index = indexOfProduct(lines, productId);
+                if (index >= 0) {
+                    lines.set(index, line);
+                } else {
+                    lines.add(line);
+                }
+                return replace(userId, new Snapshot(cartId, lines));
+            } catch (RuntimeException e) {
+                drop(userId);
+                throw e;
+            }
+        }
+    }
+
+    public Snapshot updateQuantity(Long userId, Long cartItemId, int quantity) {
+        synchronized (stripe(userId)) {
+            HotCart cart = loaded(userId);
+            int index = indexOfItem(cart.snapshot.lines, cartItemId);
+            if (index < 0) {
+                throw new RuntimeException("Cart item not found");
+            }
+            try {
+                if (cartItemRepository.updateQuantity(cartItemId, cart.snapshot.cartId, quantity) == 0) {
+                    throw new RuntimeException("Cart item not found");
+                }
+
+                CartItemDTO old = cart.snapshot.lines.get(index);
+                List<CartItemDTO> lines = new ArrayList<>(cart.snapshot.lines);
+                lines.set(index, new CartItemDTO(old.getCartItemId(), old.getProductId(),
+                        old.getProductName(), old.getImageUrl(), old.getBrand(),
+                        old.getSellerId(), old.getCategoryId(), old.getPrice(), quantity));
+                return replace(userId, new Snapshot(cart.snapshot.cartId, lines));
+            } catch (RuntimeException e) {
+                drop(userId);
+                throw e;
+            }
+        }
+    }
+
+    public Snapshot removeItem(Long userId, Long cartItemId) {
+        synchronized (stripe(userId)) {
+            HotCart cart = loaded(userId);
+            int index = indexOfItem(cart.snapshot.lines, cartItemId);
+            if (index < 0) {
+                throw new RuntimeException("Cart item not found");
+            }
+            try {
+                if (cartItemRepository.deleteByIdAndCartId(cartItemId, cart.snapshot.cartId) == 0) {
+                    throw new RuntimeException("Cart item not found");
+                }
+
+                List<CartItemDTO> lines = new ArrayList<>(cart.snapshot.lines);
+                lines.remove(index);
+                return replace(userId, new Snapshot(cart.snapshot.cartId, lines));
+            } catch (RuntimeException e) {
+                drop(userId);
+                throw e;
+            }
+        }
+    }
+
+    public void clear(Long userId) {
+        synchronized (stripe(userId)) {
+            HotCart cart = loaded(userId);
+            if (cart.snapshot.lines.isEmpty()) {
+                return;
+            }
+            try {
+                Cart ref = cartRepository.getReferenceById(cart.snapshot.cartId);
+                cartItemRepository.deleteByCart(ref);
+                replace(userId, new Snapshot(cart.snapshot.cartId, List.of()));
+            } catch (RuntimeException e) {
+                drop(userId);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Delete the ordered lines as part of the caller's transaction. The cached
+     * cart is dropped once that transaction completes, so the next read reloads
+     * whatever was committed (or rolled back).
+     */
+    public void checkedOut(Long userId, Snapshot ordered) {
+        cartItemRepository.deleteByIdInAndCartId(ordered.getCartItemIds(), ordered.cartId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    /**
+     * Drop every cached cart holding the product; call after its name, price or
+     * other shown details change, or after it is deleted
+     */
+    public void productChanged(Long productId) {
+        for (Long userId : carts.keySet()) {
+            // Checked under the stripe so a write in progress is not missed
+            synchronized (stripe(userId)) {
+                HotCart cart = carts.get(userId);
+                if (cart != null && indexOfProduct(cart.snapshot.lines, productId) >= 0) {
+                    carts.remove(userId);
+                }
+            }
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (stripe(userId)) {
+            carts.remove(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.cache.sweep-interval-ms:60000}",
+            initialDelayString = "${cart.cache.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        carts.forEach((userId, cart) -> {
+            if (now - cart.lastAccess < idleNanos) {
+                return;
+            }
+            synchronized (stripe(userId)) {
+                if (carts.remove(userId, cart)) {
+                    evictions.increment();
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", carts.size());
+        stats.put("lockStripes", stripes.length);
+        stats.put("idleMinutes", idleNanos / 60_000_000_000L);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private Object stripe(Long userId) {
+        return stripes[Long.hashCode(userId) & (stripes.length - 1)];
+    }
+
+    // Caller holds the user's stripe
+    private HotCart loaded(Long userId) {
+        HotCart cart = carts.get(userId);
+        if (cart != null) {
+            hits.increment();
+            cart.lastAccess = System.nanoTime();
+            return cart;
+        }
+
+        misses.increment();
+        Long cartId = cartRepository.findIdByUserId(userId).orElse(null);
+        List<CartItemDTO> lines = cartId == null ? List.of() : cartItemRepository.findViewByUserId(userId);
+        cart = new HotCart(new Snapshot(cartId, lines));
+        if (enabled) {
+            carts.put(userId, cart);
+        }
+        return cart;
+    }
+
+    private Snapshot replace(Long userId, Snapshot snapshot) {
+        if (enabled) {
+            carts.put(userId, new HotCart(snapshot));
+        }
+        return snapshot;
+    }
+
+    // After a failed write memory may be behind the database; reload on next use
+    private void drop(Long userId) {
+        carts.remove(userId);
+    }
+
+    private Long createCart(User user) {
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setCreatedAt(LocalDateTime.now());
+        return cartRepository.save(cart).getId();
+    }
+
+    private static int indexOfProduct(List<CartItemDTO> lines, Long productId) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).getProductId().equals(productId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfItem(List<CartItemDTO> lines, Long cartItemId) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).getCartItemId().equals(cartItemId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Immutable view of one cart. {@link #getItems()} hands out fresh copies,
+     * so callers may modify them.
+     */
+    public static final class Snapshot {
+
+        private final Long cartId;
+        private final List<CartItemDTO> lines;
+
+        Snapshot(Long cartId, List<CartItemDTO> lines) {
+            this.cartId = cartId;
+            this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+        }
+
+        public Long getCartId() {
+            return cartId;
+        }
+
+        public boolean isEmpty() {
+            return lines.isEmpty();
+        }
+
+        public List<CartItemDTO> getItems() {
+            List<CartItemDTO> items = new ArrayList<>(lines.size());
+            for (CartItemDTO line : lines) {
+                items.add(new CartItemDTO(line.getCartItemId(), line.getProductId(), line.getProductName(),
+                        line.getImageUrl(), line.getBrand(), line.getSellerId(), line.getCategoryId(),
+                        line.getPrice(), line.getQuantity()));
+            }
+            return items;
+        }
+
+        public List<Long> getCartItemIds() {
+            List<Long> ids = new ArrayList<>(lines.size());
+            for (CartItemDTO line : lines) {
+                ids.add(line.getCartItemId());
+            }
+            return ids;
+        }
+
+        // Ordered by product id, the lock order used when taking stock
+        public Map<Long, Integer> quantitiesByProduct() {
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (CartItemDTO line : lines) {
+                quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+            }
+            return quantities;
+        }
+    }
+
+    private static final class HotCart {
+
+        final Snapshot snapshot;
+        volatile long lastAccess = System.nanoTime();
+
+        HotCart(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
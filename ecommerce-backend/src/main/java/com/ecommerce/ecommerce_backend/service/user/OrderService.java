@@ -1,37 +1,58 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.dto.cart.CartItemDTO;
 import com.ecommerce.ecommerce_backend.enums.OrderStatus;
 import com.ecommerce.ecommerce_backend.model.*;
 import com.ecommerce.ecommerce_backend.repository.*;
+import com.ecommerce.ecommerce_backend.service.admin.DashboardCounterService;
+import com.ecommerce.ecommerce_backend.service.product.InventoryReservationService;
+import com.ecommerce.ecommerce_backend.service.seller.SellerSalesRollupService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final CartItemRepository cartItemRepository;
-    private final CartRepository cartRepository;
-    private final PremiumSubscriptionRepository premiumSubscriptionRepository;
     private final ProductRepository productRepository;
+    private final HotCartStore hotCartStore;
+    private final CouponOptimizer couponOptimizer;
+    private final PremiumEntitlementService premiumEntitlementService;
+    private final InventoryReservationService inventoryReservationService;
+    private final DashboardCounterService dashboardCounterService;
+    private final SellerSalesRollupService sellerSalesRollupService;
 
     public OrderService(OrderRepository orderRepository,
                         OrderItemRepository orderItemRepository,
-                        CartItemRepository cartItemRepository,
-                        CartRepository cartRepository,
-                        PremiumSubscriptionRepository premiumSubscriptionRepository,
-                        ProductRepository productRepository) {
+                        ProductRepository productRepository,
+                        HotCartStore hotCartStore,
+                        CouponOptimizer couponOptimizer,
+                        PremiumEntitlementService premiumEntitlementService,
+                        InventoryReservationService inventoryReservationService,
+                        DashboardCounterService dashboardCounterService,
+                        SellerSalesRollupService sellerSalesRollupService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
-        this.cartItemRepository = cartItemRepository;
-        this.cartRepository = cartRepository;
-        this.premiumSubscriptionRepository = premiumSubscriptionRepository;
         this.productRepository = productRepository;
+        this.hotCartStore = hotCartStore;
+        this.couponOptimizer = couponOptimizer;
+        this.premiumEntitlementService = premiumEntitlementService;
+        this.inventoryReservationService = inventoryReservationService;
+        this.dashboardCounterService = dashboardCounterService;
+        this.sellerSalesRollupService = sellerSalesRollupService;
     }
 
     // Original method signature for backward compatibility
@@ -44,34 +65,38 @@ public class OrderService {
     public Order placeOrder(User user, UserAddress address, LocalDate preferredDeliveryDate,
                            String paymentMethod, String couponCode) {
 
-        // 1️⃣ Fetch cart
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
+        // 1️⃣ Fetch cart: one consistent snapshot, unaffected by concurrent cart edits
+        HotCartStore.Snapshot cart = hotCartStore.snapshot(user.getId());
 
-        List<CartItem> cartItems = cartItemRepository.findByCart(cart);
-
-        if (cartItems.isEmpty()) {
+        if (cart.isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
+        List<CartItemDTO> cartItems = cart.getItems();
 
-        // 2️⃣ Validate stock availability for all items
-        for (CartItem item : cartItems) {
-            Product product = item.getProduct();
-            if (product.getStockQuantity() < item.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName() +
-                        ". Available: " + product.getStockQuantity() + ", Requested: " + item.getQuantity());
-            }
+        // 2️⃣ Take stock atomically (consumes any checkout reservation;
+        //    fails with "Insufficient stock" and rolls back if any product is short)
+        Map<Long, Integer> quantitiesByProductId = cart.quantitiesByProduct();
+        inventoryReservationService.commit(user, quantitiesByProductId);
+
+        // Current prices and sellers, not the ones captured in the cart
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findListingByIdIn(quantitiesByProductId.keySet())) {
+            products.put(product.getId(), product);
         }
 
-        // 3️⃣ Calculate total product amount
+        // 3️⃣ Calculate total product amount (lines keep seller and category for coupon scopes)
         double totalAmount = 0;
-        for (CartItem item : cartItems) {
-            totalAmount += item.getProduct().getPrice() * item.getQuantity();
+        List<CouponEngine.Line> couponLines = new ArrayList<>(cartItems.size());
+        for (CartItemDTO item : cartItems) {
+            Product product = productOf(products, item);
+            double lineAmount = product.getPrice() * item.getQuantity();
+            totalAmount += lineAmount;
+            couponLines.add(new CouponEngine.Line(product.getSeller().getId(),
+                    product.getCategory() != null ? product.getCategory().getId() : null, lineAmount));
         }
 
         // 3️⃣ Check premium status
-        boolean isPremium = premiumSubscriptionRepository
-                .existsByUserAndActiveTrue(user);
+        boolean isPremium = premiumEntitlementService.isPremium(user);
 
         // 4️⃣ Create Order
         Order order = new Order();
@@ -100,22 +125,33 @@ public class OrderService {
             order.setPreferredDeliveryDate(preferredDeliveryDate);
         }
 
-        // 8️⃣ Apply coupon discount if provided
+        // 8️⃣ Apply coupon discount: the best combination of the codes the customer
+        //    gave (comma-separated), checked in memory, then one conditional
+        //    used_count increment per coupon that rolls back with the order.
+        //    No code, no discount.
         double discount = 0;
-        if (couponCode != null && !couponCode.trim().isEmpty()) {
-            // TODO: Implement coupon validation and discount calculation
-            // For now, just log it
+        List<String> codes = CouponOptimizer.parseCodes(couponCode);
+        if (!codes.isEmpty()) {
+            CouponOptimizer.Result applied = couponOptimizer.redeem(couponOptimizer.optimize(codes, couponLines));
+            if (applied.getCoupons().isEmpty() && applied.getRejection() != null) {
+                throw new CouponRejectedException(applied.getRejection());
+            }
+            discount = applied.getDiscount();
+            order.setCouponCode(applied.getCodes());
         }
+        order.setDiscountAmount(discount);
 
         // 9️⃣ Final amount
         order.setFinalAmount(totalAmount + deliveryCharge - discount);
 
         // 🔟 Save order first
         Order savedOrder = orderRepository.save(order);
+        dashboardCounterService.orderPlaced(savedOrder);
 
-        // 1️⃣1️⃣ Create order items and reduce stock
-        for (CartItem cartItem : cartItems) {
-            Product product = cartItem.getProduct();
+        // 1️⃣1️⃣ Create order items (inserted as one JDBC batch at flush)
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        for (CartItemDTO cartItem : cartItems) {
+            Product product = productOf(products, cartItem);
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(savedOrder);
@@ -125,15 +161,13 @@ public class OrderService {
             orderItem.setPrice(product.getPrice());
             orderItem.setDiscountAtPurchase(0);
 
-            orderItemRepository.save(orderItem);
-
-            // Reduce stock quantity
-            product.setStockQuantity(product.getStockQuantity() - cartItem.getQuantity());
-            productRepository.save(product);
+            orderItems.add(orderItem);
         }
+        orderItemRepository.saveAll(orderItems);
+        sellerSalesRollupService.orderPlaced(savedOrder, orderItems);
 
-        // 1️⃣2️⃣ Clear cart after successful order
-        cartItemRepository.deleteAll(cartItems);
+        // 1️⃣2️⃣ Clear the ordered lines after successful order
+        hotCartStore.checkedOut(user.getId(), cart);
 
         return savedOrder;
     }
@@ -142,6 +176,33 @@ public class OrderService {
         return orderRepository.findByUser(user);
     }
 
+    /**
+     * Offset page of the user's orders, newest first, optionally filtered by status
+     */
+    public Page<Order> getOrders(User user, OrderStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id")));
+
+        if (status == null) {
+            return orderRepository.findByUser(user, pageable);
+        }
+        return orderRepository.findByUserAndStatus(user, status, pageable);
+    }
+
+    /**
+     * Keyset page: the next {@code size} orders after the (orderDate, id) cursor.
+     * Cost does not grow with how deep the cursor is.
+     */
+    public List<Order> getOrdersAfter(User user, OrderStatus status,
+                                      LocalDateTime cursorDate, Long cursorId, int size) {
+        Pageable limit = PageRequest.of(0, size);
+
+        if (status == null) {
+            return orderRepository.findByUserAfterCursor(user, cursorDate, cursorId, limit);
+        }
+        return orderRepository.findByUserAndStatusAfterCursor(user, status, cursorDate, cursorId, limit);
+    }
+
     public Order getOrderById(Long orderId, User user) {
         return orderRepository.findByIdAndUser(orderId, user)
                 .orElse(null);
@@ -160,15 +221,16 @@ public class OrderService {
             throw new RuntimeException("Order is already cancelled");
         }
 
-        // Restore stock for all order items
-        List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
-        for (OrderItem orderItem : orderItems) {
-            Product product = orderItem.getProduct();
-            product.setStockQuantity(product.getStockQuantity() + orderItem.getQuantity());
-            productRepository.save(product);
+        // Restore stock for all order items (atomic increments)
+        Map<Long, Integer> restock = new TreeMap<>();
+        for (OrderItem orderItem : orderItemRepository.findByOrder(order)) {
+            restock.merge(orderItem.getProduct().getId(), orderItem.getQuantity(), Integer::sum);
         }
+        inventoryReservationService.restock(restock);
 
+        OrderStatus previous = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
+        sellerSalesRollupService.orderStatusChanged(order, previous);
         return orderRepository.save(order);
     }
 
@@ -183,13 +245,35 @@ public class OrderService {
         }
 
         // Mark as refund requested (you might want to add a REFUND_REQUESTED status)
+        OrderStatus previous = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
+        sellerSalesRollupService.orderStatusChanged(order, previous);
         orderRepository.save(order);
     }
 
+    /**
+     * Hold the current cart's stock while the user completes checkout
+     */
+    @Transactional
+    public List<StockReservation> reserveCart(User user) {
+        HotCartStore.Snapshot cart = hotCartStore.snapshot(user.getId());
+        if (cart.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+
+        return inventoryReservationService.reserve(user, cart.quantitiesByProduct());
+    }
+
+    private Product productOf(Map<Long, Product> products, CartItemDTO item) {
+        Product product = products.get(item.getProductId());
+        if (product == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return product;
+    }
+
     private boolean isPremiumUser(User user) {
-        return premiumSubscriptionRepository
-                .existsByUserAndActiveTrue(user);
+        return premiumEntitlementService.isPremium(user);
     }
 
 }
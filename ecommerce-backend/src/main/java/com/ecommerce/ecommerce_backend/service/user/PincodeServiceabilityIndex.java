@@ -0,0 +1,180 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.repository.DeliveryZoneRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which pincodes have an active delivery zone. Held as an immutable snapshot:
+ * numeric pincodes (up to six digits, no leading zero) and numeric ranges are
+ * merged into sorted, disjoint intervals that are binary searched; any other
+ * pincode goes in a string set. {@link #rebuild()} builds a new snapshot from
+ * the active zones and swaps it in, so lookups never lock and never see a
+ * half-built index. Must be rebuilt after every zone change.
+ */
+@Component
+public class PincodeServiceabilityIndex {
+
+    private final DeliveryZoneRepository deliveryZoneRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new int[0], Set.of());
+
+    public PincodeServiceabilityIndex(DeliveryZoneRepository deliveryZoneRepository) {
+        this.deliveryZoneRepository = deliveryZoneRepository;
+    }
+
+    // Synchronized so an older rebuild can never be swapped in over a newer one
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<long[]> intervals = new ArrayList<>();
+        Set<String> other = new HashSet<>();
+
+        for (Object[] row : deliveryZoneRepository.findActivePincodeRanges()) {
+            String from = normalize((String) row[0]);
+            String to = normalize((String) row[1]);
+            if (from == null) {
+                continue;
+            }
+            int start = numericPincode(from);
+            int end = to == null ? start : numericPincode(to);
+            if (start >= 0 && end >= start) {
+                intervals.add(new long[]{start, end});
+            } else if (to == null) {
+                other.add(from);
+            }
+            // Malformed ranges are rejected on write and ignored here
+        }
+        snapshot = Snapshot.of(intervals, other);
+    }
+
+    public boolean isServiceable(String pincode) {
+        return snapshot.contains(normalize(pincode));
+    }
+
+    /**
+     * Serviceability of each given pincode, in input order, all read from the same snapshot
+     */
+    public Map<String, Boolean> areServiceable(Collection<String> pincodes) {
+        Snapshot current = snapshot;
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String pincode : pincodes) {
+            if (pincode != null) {
+                result.put(pincode, current.contains(normalize(pincode)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of distinct serviceable pincodes, counting every pincode inside a range
+     */
+    public long size() {
+        return snapshot.size;
+    }
+
+    public int intervalCount() {
+        return snapshot.starts.length;
+    }
+
+    /**
+     * Value of a numeric pincode (all digits, at most six, no leading zero), or -1.
+     * Only numeric pincodes can bound a range.
+     */
+    public static int numericPincode(String pincode) {
+        String key = normalize(pincode);
+        if (key == null || key.length() > 6 || key.charAt(0) == '0') {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String normalize(String pincode) {
+        if (pincode == null) {
+            return null;
+        }
+        String key = pincode.trim();
+        return key.isEmpty() ? null : key;
+    }
+
+    private static final class Snapshot {
+
+        // starts[i]..ends[i] inclusive; sorted, non-overlapping and non-adjacent
+        final int[] starts;
+        final int[] ends;
+        final Set<String> other;
+        final long size;
+
+        Snapshot(int[] starts, int[] ends, Set<String> other) {
+            this.starts = starts;
+            this.ends = ends;
+            this.other = other;
+
+            long covered = other.size();
+            for (int i = 0; i < starts.length; i++) {
+                covered += ends[i] - starts[i] + 1L;
+            }
+            this.size = covered;
+        }
+
+        // Sort by start, then fold overlapping or touching intervals together
+        static Snapshot of(List<long[]> intervals, Set<String> other) {
+            intervals.sort((a, b) -> Long.compare(a[0], b[0]));
+
+            int[] starts = new int[intervals.size()];
+            int[] ends = new int[intervals.size()];
+            int count = 0;
+            for (long[] interval : intervals) {
+                if (count > 0 && interval[0] <= ends[count - 1] + 1L) {
+                    ends[count - 1] = (int) Math.max(ends[count - 1], interval[1]);
+                } else {
+                    starts[count] = (int) interval[0];
+                    ends[count] = (int) interval[1];
+                    count++;
+                }
+            }
+            return new Snapshot(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), other);
+        }
+
+        boolean contains(String key) {
+            if (key == null) {
+                return false;
+            }
+            int value = numericPincode(key);
+            if (value < 0) {
+                return other.contains(key);
+            }
+
+            // Last interval starting at or before the value
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high >= 0 && value <= ends[high];
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.model.PremiumSubscription;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.PremiumSubscriptionRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.admin.DashboardCounterService;
+import com.ecommerce.ecommerce_backend.service.auth.UserIdentityCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "is this user premium?" from memory.
+ * Holds the end date of every active subscription keyed by user id;
+ * subscription writes update it directly and a daily sweep retires
+ * subscriptions whose end date has passed. User.premiumStatus is kept
+ * in step with the subscription. The map only changes once the caller's
+ * transaction commits, so a rolled-back grant or revoke leaves it as it was.
+ */
+@Service
+public class PremiumEntitlementService {
+
+    private final PremiumSubscriptionRepository premiumSubscriptionRepository;
+    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final DashboardCounterService dashboardCounterService;
+
+    private final ConcurrentHashMap<Long, LocalDate> activeUntilByUserId = new ConcurrentHashMap<>();
+
+    public PremiumEntitlementService(PremiumSubscriptionRepository premiumSubscriptionRepository,
+                                     UserRepository userRepository,
+                                     UserIdentityCache userIdentityCache,
+                                     DashboardCounterService dashboardCounterService) {
+        this.premiumSubscriptionRepository = premiumSubscriptionRepository;
+        this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.dashboardCounterService = dashboardCounterService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveSubscriptions() {
+        activeUntilByUserId.clear();
+        for (Object[] row : premiumSubscriptionRepository.findActiveEndDates()) {
+            activeUntilByUserId.put((Long) row[0], (LocalDate) row[1]);
+        }
+    }
+
+    /**
+     * Premium through the last day of the subscription (endDate inclusive),
+     * even if the expiry sweep has not run yet
+     */
+    public boolean isPremium(User user) {
+        if (user == null) {
+            return false;
+        }
+        LocalDate activeUntil = activeUntilByUserId.get(user.getId());
+        return activeUntil != null && !LocalDate.now().isAfter(activeUntil);
+    }
+
+    /**
+     * Record a subscription that was just activated (call after saving it)
+     */
+    @Transactional
+    public void activated(PremiumSubscription subscription) {
+        Long userId = subscription.getUser().getId();
+        LocalDate endDate = subscription.getEndDate();
+        afterCommit(() -> activeUntilByUserId.put(userId, endDate));
+        setPremiumStatus(userId, true);
+    }
+
+    /**
+     * Record a subscription that was just deactivated (call after saving it)
+     */
+    @Transactional
+    public void deactivated(PremiumSubscription subscription) {
+        Long userId = subscription.getUser().getId();
+        afterCommit(() -> activeUntilByUserId.remove(userId));
+        setPremiumStatus(userId, false);
+    }
+
+    /**
+     * Deactivate subscriptions whose end date has passed
+     */
+    @Scheduled(cron = "${premium.expiry.cron:0 5 0 * * *}")
+    @Transactional
+    public int expireEndedSubscriptions() {
+        LocalDate today = LocalDate.now();
+        List<Long> userIds = premiumSubscriptionRepository.findUserIdsWithActiveEndingBefore(today);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        premiumSubscriptionRepository.deactivateEndingBefore(today);
+        dashboardCounterService.premiumChanged(-userRepository.updatePremiumStatus(userIds, false));
+
+        afterCommit(() -> userIds.forEach(activeUntilByUserId::remove));
+        for (Long userId : userIds) {
+            userIdentityCache.invalidate(userId);
+        }
+        return userIds.size();
+    }
+
+    private void setPremiumStatus(Long userId, boolean premium) {
+        int changed = userRepository.updatePremiumStatus(List.of(userId), premium);
+        userIdentityCache.invalidate(userId);
+        dashboardCounterService.premiumChanged(premium ? changed : -changed);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
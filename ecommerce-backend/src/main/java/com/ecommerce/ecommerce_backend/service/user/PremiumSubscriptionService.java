@@ -12,24 +12,28 @@ import java.time.LocalDate;
 public class PremiumSubscriptionService {
 
     private final PremiumSubscriptionRepository premiumSubscriptionRepository;
+    private final PremiumEntitlementService premiumEntitlementService;
 
     public PremiumSubscriptionService(
-            PremiumSubscriptionRepository premiumSubscriptionRepository
+            PremiumSubscriptionRepository premiumSubscriptionRepository,
+            PremiumEntitlementService premiumEntitlementService
     ) {
         this.premiumSubscriptionRepository = premiumSubscriptionRepository;
+        this.premiumEntitlementService = premiumEntitlementService;
     }
 
     public PremiumSubscription subscribe(User user, SubscriptionPlan planType) {
 
         // prevent duplicate active subscription
-        boolean alreadyActive =
-                premiumSubscriptionRepository.existsByUserAndActiveTrue(user);
+        boolean alreadyActive = premiumEntitlementService.isPremium(user);
 
         if (alreadyActive) {
             throw new RuntimeException("User already has an active premium subscription");
         }
 
-        PremiumSubscription subscription = new PremiumSubscription();
+        // one row per user (user_id is unique): renew a lapsed subscription in place
+        PremiumSubscription subscription = premiumSubscriptionRepository.findByUser(user)
+                .orElseGet(PremiumSubscription::new);
         subscription.setUser(user);
         subscription.setPlanType(planType);
         subscription.setStartDate(LocalDate.now());
@@ -42,7 +46,9 @@ public class PremiumSubscriptionService {
             subscription.setEndDate(LocalDate.now().plusYears(1));
         }
 
-        return premiumSubscriptionRepository.save(subscription);
+        PremiumSubscription saved = premiumSubscriptionRepository.save(subscription);
+        premiumEntitlementService.activated(saved);
+        return saved;
     }
 
     public void cancelSubscription(User user) {
@@ -53,5 +59,6 @@ public class PremiumSubscriptionService {
         subscription.setActive(false);
         subscription.setAutoRenew(false);
         premiumSubscriptionRepository.save(subscription);
+        premiumEntitlementService.deactivated(subscription);
     }
 }
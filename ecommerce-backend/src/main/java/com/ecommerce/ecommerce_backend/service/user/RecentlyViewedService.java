@@ -1,30 +1,344 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
 import com.ecommerce.ecommerce_backend.model.*;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
 import com.ecommerce.ecommerce_backend.repository.RecentlyViewedRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Keeps the last N distinct products each active user viewed in an in-memory
+ * ring buffer. Views never touch the database on the request path; changes
+ * are written back in batches by {@link #flush()}, and products pushed out of
+ * the ring are deleted, so the table holds at most N rows per user.
+ * A write that can never succeed (e.g. a product deleted since it was viewed)
+ * is dropped and counted rather than retried.
+ */
 @Service
 public class RecentlyViewedService {
 
     private final RecentlyViewedRepository recentlyViewedRepository;
+    private final ProductRepository productRepository;
+    private final int capacity;
+    private final long idleNanos;
 
-    public RecentlyViewedService(RecentlyViewedRepository recentlyViewedRepository) {
+    private final ConcurrentHashMap<Long, RecentItems> buffers = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder droppedWrites = new LongAdder();
+
+    public RecentlyViewedService(RecentlyViewedRepository recentlyViewedRepository,
+                                 ProductRepository productRepository,
+                                 @Value("${recently-viewed.capacity:50}") int capacity,
+                                 @Value("${recently-viewed.idle-minutes:30}") long idleMinutes) {
         this.recentlyViewedRepository = recentlyViewedRepository;
+        this.productRepository = productRepository;
+        this.capacity = capacity;
+        this.idleNanos = idleMinutes * 60_000_000_000L;
     }
 
     public void recordView(User user, Product product) {
-        RecentlyViewed rv = new RecentlyViewed();
-        rv.setUser(user);
-        rv.setProduct(product);
-        rv.setViewedAt(LocalDateTime.now());
-        recentlyViewedRepository.save(rv);
+        recordView(user.getId(), product.getId(), LocalDateTime.now());
+    }
+
+    public void recordView(Long userId, Long productId, LocalDateTime viewedAt) {
+        while (true) {
+            RecentItems items = buffers.computeIfAbsent(userId, this::load);
+            // false only if the buffer was evicted between lookup and record
+            if (items.record(productId, viewedAt)) {
+                dirtyUsers.add(userId);
+                return;
+            }
+        }
     }
 
+    /**
+     * The user's recent products, newest first; views not yet flushed are included
+     */
     public List<RecentlyViewed> getRecentlyViewed(User user) {
-        return recentlyViewedRepository.findByUserOrderByViewedAtDesc(user);
+        List<Object[]> views = buffers.computeIfAbsent(user.getId(), this::load).snapshot();
+
+        List<Long> productIds = new ArrayList<>(views.size());
+        for (Object[] view : views) {
+            productIds.add((Long) view[0]);
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        List<RecentlyViewed> result = new ArrayList<>(views.size());
+        for (Object[] view : views) {
+            Product product = products.get((Long) view[0]);
+            if (product == null) {
+                continue;
+            }
+            RecentlyViewed rv = new RecentlyViewed();
+            rv.setUser(user);
+            rv.setProduct(product);
+            rv.setViewedAt((LocalDateTime) view[1]);
+            result.add(rv);
+        }
+        return result;
+    }
+
+    /**
+     * Write pending views and trims to the database, then drop buffers
+     * of users that are clean and have been idle
+     */
+    @Scheduled(fixedDelayString = "${recently-viewed.flush-interval-ms:5000}",
+            initialDelayString = "${recently-viewed.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        for (Long userId : new ArrayList<>(dirtyUsers)) {
+            dirtyUsers.remove(userId);
+            RecentItems items = buffers.get(userId);
+            if (items == null) {
+                continue;
+            }
+
+            PendingWrites pending = items.drain();
+            try {
+                write(userId, pending);
+            } catch (DataIntegrityViolationException e) {
+                // Usually a product deleted since it was viewed: write the rest without it
+                flushFailures.increment();
+                writeExistingOnly(userId, pending);
+            } catch (DataAccessResourceFailureException e) {
+                // Database unreachable: keep the writes and stop this pass; users not
+                // reached yet are still marked dirty
+                flushFailures.increment();
+                items.requeue(pending);
+                dirtyUsers.add(userId);
+                break;
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                // Lock timeout, deadlock and the like: retry this user next pass
+                flushFailures.increment();
+                items.requeue(pending);
+                dirtyUsers.add(userId);
+            } catch (RuntimeException e) {
+                // Would fail the same way every pass
+                flushFailures.increment();
+                droppedWrites.add(pending.size());
+            }
+        }
+
+        long now = System.nanoTime();
+        buffers.forEach((userId, items) -> {
+            if (items.evictIfIdle(now, idleNanos)) {
+                buffers.remove(userId, items);
+            }
+        });
+    }
+
+    private void write(Long userId, PendingWrites pending) {
+        recentlyViewedRepository.deleteViews(userId, pending.deletes);
+        recentlyViewedRepository.upsertViews(userId, pending.upserts);
+    }
+
+    private void writeExistingOnly(Long userId, PendingWrites pending) {
+        try {
+            Set<Long> existing = pending.upserts.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(productRepository.findExistingIds(pending.upserts.keySet()));
+            Map<Long, LocalDateTime> upserts = new LinkedHashMap<>(pending.upserts);
+            upserts.keySet().retainAll(existing);
+
+            write(userId, new PendingWrites(upserts, pending.deletes));
+            droppedWrites.add(pending.upserts.size() - upserts.size());
+        } catch (RuntimeException e) {
+            droppedWrites.add(pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeUsers", buffers.size());
+        stats.put("dirtyUsers", dirtyUsers.size());
+        stats.put("capacity", capacity);
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("droppedWrites", droppedWrites.sum());
+        return stats;
+    }
+
+    // Rows beyond capacity (older history) are queued for deletion
+    private RecentItems load(Long userId) {
+        RecentItems items = new RecentItems(capacity);
+        List<Object[]> rows = recentlyViewedRepository.findViewsByUserId(userId);
+        if (items.loadNewestFirst(rows)) {
+            dirtyUsers.add(userId);
+        }
+        return items;
+    }
+
+    /**
+     * Fixed-size ring of distinct product ids, newest at {@code head}.
+     * A repeat view moves the product back to the front.
+     */
+    private static final class RecentItems {
+
+        final long[] productIds;
+        final LocalDateTime[] viewedAt;
+        int head = -1;
+        int size;
+
+        final Map<Long, LocalDateTime> pendingUpserts = new LinkedHashMap<>();
+        final Set<Long> pendingDeletes = new LinkedHashSet<>();
+        long lastAccess = System.nanoTime();
+        boolean evicted;
+
+        RecentItems(int capacity) {
+            this.productIds = new long[capacity];
+            this.viewedAt = new LocalDateTime[capacity];
+        }
+
+        // Position 0 is the newest entry
+        private int slot(int position) {
+            return Math.floorMod(head - position, productIds.length);
+        }
+
+        private int positionOf(long productId) {
+            for (int i = 0; i < size; i++) {
+                if (productIds[slot(i)] == productId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        synchronized boolean record(long productId, LocalDateTime at) {
+            if (evicted) {
+                return false;
+            }
+            lastAccess = System.nanoTime();
+
+            int position = positionOf(productId);
+            if (position >= 0) {
+                // Shift the newer entries back one and put this product in front
+                for (int i = position; i > 0; i--) {
+                    productIds[slot(i)] = productIds[slot(i - 1)];
+                    viewedAt[slot(i)] = viewedAt[slot(i - 1)];
+                }
+            } else {
+                if (size == productIds.length) {
+                    long oldest = productIds[slot(size - 1)];
+                    pendingUpserts.remove(oldest);
+                    pendingDeletes.add(oldest);
+                } else {
+                    size++;
+                }
+                head = (head + 1) % productIds.length;
+            }
+
+            productIds[head] = productId;
+            viewedAt[head] = at;
+            pendingDeletes.remove(productId);
+            pendingUpserts.put(productId, at);
+            return true;
+        }
+
+        // Returns true if rows past capacity were found and must be trimmed
+        synchronized boolean loadNewestFirst(List<Object[]> rows) {
+            Set<Long> seen = new HashSet<>();
+            List<Object[]> kept = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long productId = (Long) row[0];
+                if (!seen.add(productId)) {
+                    continue;
+                }
+                if (kept.size() < productIds.length) {
+                    kept.add(row);
+                } else {
+                    pendingDeletes.add(productId);
+                }
+            }
+
+            // Oldest first, so the newest ends up at head
+            for (int i = kept.size() - 1; i >= 0; i--) {
+                head = (head + 1) % productIds.length;
+                productIds[head] = (Long) kept.get(i)[0];
+                viewedAt[head] = (LocalDateTime) kept.get(i)[1];
+            }
+            size = kept.size();
+            return !pendingDeletes.isEmpty();
+        }
+
+        synchronized List<Object[]> snapshot() {
+            lastAccess = System.nanoTime();
+            List<Object[]> views = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                views.add(new Object[]{productIds[slot(i)], viewedAt[slot(i)]});
+            }
+            return views;
+        }
+
+        synchronized PendingWrites drain() {
+            PendingWrites pending = new PendingWrites(
+                    new LinkedHashMap<>(pendingUpserts), new ArrayList<>(pendingDeletes));
+            pendingUpserts.clear();
+            pendingDeletes.clear();
+            return pending;
+        }
+
+        // Put back writes from a failed flush unless a newer view superseded them
+        synchronized void requeue(PendingWrites pending) {
+            for (Long productId : pending.deletes) {
+                if (positionOf(productId) < 0) {
+                    pendingDeletes.add(productId);
+                }
+            }
+            for (Map.Entry<Long, LocalDateTime> entry : pending.upserts.entrySet()) {
+                if (positionOf(entry.getKey()) >= 0) {
+                    pendingUpserts.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        synchronized boolean evictIfIdle(long now, long idleNanos) {
+            if (now - lastAccess < idleNanos
+                    || !pendingUpserts.isEmpty() || !pendingDeletes.isEmpty()) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        }
+    }
+
+    private static final class PendingWrites {
+
+        final Map<Long, LocalDateTime> upserts;
+        final List<Long> deletes;
+
+        PendingWrites(Map<Long, LocalDateTime> upserts, List<Long> deletes) {
+            this.upserts = upserts;
+            this.deletes = deletes;
+        }
+
+        int size() {
+            return upserts.size() + deletes.size();
+        }
     }
 }
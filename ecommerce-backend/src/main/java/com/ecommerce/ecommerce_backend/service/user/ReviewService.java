@@ -1,8 +1,14 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.dto.review.ReviewResponseDTO;
+import com.ecommerce.ecommerce_backend.dto.review.ReviewSummaryDTO;
 import com.ecommerce.ecommerce_backend.model.*;
-import com.ecommerce.ecommerce_backend.repository.ProductRepository;
 import com.ecommerce.ecommerce_backend.repository.ReviewRepository;
+import com.ecommerce.ecommerce_backend.service.product.ProductRatingService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,15 +19,19 @@ import java.util.List;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
-    private final ProductRepository productRepository;
+    private final ProductRatingService productRatingService;
 
-    public ReviewService(ReviewRepository reviewRepository, ProductRepository productRepository) {
+    public ReviewService(ReviewRepository reviewRepository, ProductRatingService productRatingService) {
         this.reviewRepository = reviewRepository;
-        this.productRepository = productRepository;
+        this.productRatingService = productRatingService;
     }
 
     @Transactional
     public Review addReview(User user, Product product, int rating, String comment) {
+        if (rating < 1 || rating > 5) {
+            throw new RuntimeException("Rating must be between 1 and 5");
+        }
+
         Review review = new Review();
         review.setUser(user);
         review.setProduct(product);
@@ -32,17 +42,8 @@ public class ReviewService {
 
         Review savedReview = reviewRepository.save(review);
 
-        // Update product's review count and average rating
-        int currentCount = product.getReviewCount();
-        double currentAvg = product.getAverageRating();
-
-        // Calculate new average: ((oldAvg * oldCount) + newRating) / newCount
-        int newCount = currentCount + 1;
-        double newAverage = ((currentAvg * currentCount) + rating) / newCount;
-
-        product.setReviewCount(newCount);
-        product.setAverageRating(newAverage);
-        productRepository.save(product);
+        // Update product's review count, average rating and star histogram in the database
+        productRatingService.recordRating(product.getId(), rating);
 
         return savedReview;
     }
@@ -51,6 +52,32 @@ public class ReviewService {
         return reviewRepository.findByProduct(product);
     }
 
+    /**
+     * Offset page of a product's reviews, newest first. The total comes from the
+     * product's stored review count, so no COUNT query runs.
+     */
+    public Page<ReviewResponseDTO> getProductReviews(Long productId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<ReviewResponseDTO> content =
+                reviewRepository.findPageByProductId(productId, LocalDateTime.now(), pageable);
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> productRatingService.getRatingSummary(productId).getTotalReviews());
+    }
+
+    /**
+     * Keyset page: the next {@code size} reviews older than the (createdAt, id) cursor
+     */
+    public List<ReviewResponseDTO> getProductReviewsAfter(Long productId, LocalDateTime cursorDate,
+                                                          Long cursorId, int size) {
+        return reviewRepository.findPageByProductIdAfterCursor(
+                productId, cursorDate, cursorId, PageRequest.of(0, size));
+    }
+
+    public ReviewSummaryDTO getReviewSummary(Long productId) {
+        return productRatingService.getRatingSummary(productId);
+    }
+
     public boolean canUserReview(User user, Product product) {
         // User can review if they haven't already reviewed this product
         return !reviewRepository.existsByUserAndProduct(user, product);
@@ -1,10 +1,14 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.enums.DashboardMetric;
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
 import com.ecommerce.ecommerce_backend.repository.OrderRepository;
 import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.admin.DashboardCounterService;
+import com.ecommerce.ecommerce_backend.service.auth.UserIdentityCache;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,11 +17,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final DashboardCounterService dashboardCounterService;
 
     public UserService(UserRepository userRepository,
-                       OrderRepository orderRepository) {
+                       OrderRepository orderRepository,
+                       UserIdentityCache userIdentityCache,
+                       DashboardCounterService dashboardCounterService) {
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     public User getProfile(User user) {
@@ -27,22 +37,28 @@ public class UserService {
     public User updateProfile(User user, String name, String phone) {
         user.setName(name);
         user.setPhone(phone);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userIdentityCache.invalidate(saved.getId());
+        return saved;
     }
 
     public List<?> getOrderHistory(User user) {
         return orderRepository.findByUser(user);
     }
 
+    @Transactional
     public void requestSellerRole(Long userId) {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        DashboardMetric sellerMetricBefore = DashboardCounterService.sellerMetric(user);
         user.setRole(UserRole.SELLER);
         user.setSellerVerified(false);
 
         userRepository.save(user);
+        userIdentityCache.invalidate(userId);
+        dashboardCounterService.userChanged(user.isPremiumStatus(), sellerMetricBefore, user);
     }
 
 }
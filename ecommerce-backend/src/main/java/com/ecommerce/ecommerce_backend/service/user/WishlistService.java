@@ -1,14 +1,24 @@
 package com.ecommerce.ecommerce_backend.service.user;
 
+import com.ecommerce.ecommerce_backend.dto.wishlist.WishlistItemDTO;
 import com.ecommerce.ecommerce_backend.model.*;
 import com.ecommerce.ecommerce_backend.repository.WishlistRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class WishlistService {
 
+    private static final int MAX_BULK_PRODUCTS = 500;
+
     private final WishlistRepository wishlistRepository;
 
     public WishlistService(WishlistRepository wishlistRepository) {
@@ -16,24 +26,68 @@ public class WishlistService {
     }
 
     public void addToWishlist(User user, Product product) {
-        if (wishlistRepository.existsByUserAndProduct(user, product)) {
-            return;
-        }
+        addToWishlist(user, List.of(product.getId()));
+    }
+
+    /**
+     * Add many products at once; already wishlisted and unknown products are skipped.
+     * Returns how many were added. Not transactional on purpose: each insert-if-absent
+     * commits on its own, so concurrent adds never hold row locks across the batch.
+     */
+    public int addToWishlist(User user, Collection<Long> productIds) {
+        Set<Long> ids = distinctIds(productIds);
 
-        Wishlist wishlist = new Wishlist();
-        wishlist.setUser(user);
-        wishlist.setProduct(product);
-        wishlistRepository.save(wishlist);
+        int added = 0;
+        for (int count : wishlistRepository.addProducts(user.getId(), ids)) {
+            added += count > 0 ? 1 : 0;
+        }
+        return added;
     }
 
+    @Transactional
     public void removeFromWishlist(User user, Product product) {
-        wishlistRepository.findByUser(user)
-                .stream()
-                .filter(w -> w.getProduct().getId().equals(product.getId()))
-                .forEach(wishlistRepository::delete);
+        wishlistRepository.deleteByUserIdAndProductIds(user.getId(), List.of(product.getId()));
+    }
+
+    /**
+     * Remove many products in one statement; returns how many were removed
+     */
+    @Transactional
+    public int removeFromWishlist(User user, Collection<Long> productIds) {
+        return wishlistRepository.deleteByUserIdAndProductIds(user.getId(), distinctIds(productIds));
+    }
+
+    /**
+     * The subset of the given products that are in the user's wishlist, in one query
+     */
+    public Set<Long> getWishlistedProductIds(User user, Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(wishlistRepository.findProductIdsIn(user.getId(), distinctIds(productIds)));
     }
 
     public List<Wishlist> getWishlist(User user) {
         return wishlistRepository.findByUser(user);
     }
+
+    /**
+     * One page of the wishlist as display rows, in the order products were added.
+     * Always a single query, whatever the wishlist size.
+     */
+    public Slice<WishlistItemDTO> getWishlistItems(User user, int page, int size) {
+        return wishlistRepository.findItemsByUserId(user.getId(), PageRequest.of(page, size));
+    }
+
+    private Set<Long> distinctIds(Collection<Long> productIds) {
+        Set<Long> ids = productIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(productIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new RuntimeException("No products given");
+        }
+        if (ids.size() > MAX_BULK_PRODUCTS) {
+            throw new RuntimeException("At most " + MAX_BULK_PRODUCTS + " products per request");
+        }
+        return ids;
+    }
 }
@@ -2,16 +2,16 @@ package com.ecommerce.ecommerce_backend.util;
 
 import com.ecommerce.ecommerce_backend.enums.UserRole;
 import com.ecommerce.ecommerce_backend.model.User;
-import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.auth.UserIdentityCache;
 import org.springframework.stereotype.Component;
 
 @Component   // ✅ THIS WAS MISSING
 public class AdminAuthUtil {
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
-    public AdminAuthUtil(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public AdminAuthUtil(UserIdentityCache userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
     }
 
     // existing method (do not remove)
@@ -23,7 +23,7 @@ public class AdminAuthUtil {
 
     // overloaded method (used by controllers)
     public User validateAdmin(Long adminId) {
-        User admin = userRepository.findById(adminId)
+        User admin = userIdentityCache.findById(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
         validateAdmin(admin);
         return admin;
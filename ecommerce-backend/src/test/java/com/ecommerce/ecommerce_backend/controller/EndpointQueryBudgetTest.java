@@ -0,0 +1,182 @@
+package com.ecommerce.ecommerce_backend.controller;
+
+import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.ecommerce.ecommerce_backend.model.Category;
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.user.CartService;
+import com.ecommerce.ecommerce_backend.service.user.OrderService;
+import com.ecommerce.ecommerce_backend.service.user.RecentlyViewedService;
+import com.ecommerce.ecommerce_backend.service.user.ReviewService;
+import com.ecommerce.ecommerce_backend.service.user.WishlistService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Statement budgets for the read endpoints, measured through the full MVC stack
+ * (including JSON serialization of entities) with warm caches. The fixture has
+ * several rows per list, across sellers and categories, so a lazy association
+ * loaded per row pushes the endpoint over its budget.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        // Statistics are global; keep background jobs out of the measurements
+        "product-views.drain-interval-ms=3600000",
+        "recently-viewed.flush-interval-ms=3600000",
+        "cart.cache.sweep-interval-ms=3600000",
+        "inventory.reservation.sweep-initial-delay-ms=3600000",
+        "ratings.reconcile.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTest {
+
+    private static final String USER = "X-USER-ID";
+    private static final String SELLER = "X-SELLER-ID";
+    private static final String ADMIN = "X-ADMIN-ID";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired UserRepository userRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired CartService cartService;
+    @Autowired OrderService orderService;
+    @Autowired WishlistService wishlistService;
+    @Autowired ReviewService reviewService;
+    @Autowired RecentlyViewedService recentlyViewedService;
+
+    private User customer;
+    private User seller;
+    private User admin;
+    private List<Product> products;
+    private Long orderId;
+
+    @BeforeAll
+    void createFixture() {
+        admin = userRepository.findByEmail("admin@ecommerce.com").orElseThrow();
+        seller = createUser("budget-seller@test.com", UserRole.SELLER);
+        User otherSeller = createUser("budget-seller-2@test.com", UserRole.SELLER);
+        customer = createUser("budget-customer@test.com", UserRole.CUSTOMER);
+
+        // Products alternate between two sellers and every category
+        List<Category> categories = categoryRepository.findAll();
+        products = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Product product = new Product();
+            product.setName("Budget Item " + i);
+            product.setPrice(100 + i);
+            product.setStockQuantity(100);
+            product.setCreatedAt(LocalDateTime.now());
+            product.setSeller(i % 3 == 0 ? otherSeller : seller);
+            product.setCategory(categories.get(i % categories.size()));
+            products.add(productRepository.save(product));
+        }
+
+        for (int order = 0; order < 3; order++) {
+            for (int i = 0; i < 4; i++) {
+                cartService.addItem(customer, products.get(order * 4 + i).getId(), 1);
+            }
+            orderId = orderService.placeOrder(customer, null, null, "COD", null).getId();
+        }
+        for (int i = 0; i < 5; i++) {
+            cartService.addItem(customer, products.get(i).getId(), 1);
+        }
+
+        wishlistService.addToWishlist(customer, products.stream().map(Product::getId).toList());
+        for (int i = 0; i < 6; i++) {
+            User reviewer = createUser("budget-reviewer-" + i + "@test.com", UserRole.CUSTOMER);
+            reviewService.addReview(reviewer, products.get(0), 1 + i % 5, "review " + i);
+        }
+        for (Product product : products) {
+            recentlyViewedService.recordView(customer, product);
+        }
+    }
+
+    @Test
+    void catalogEndpointsStayWithinBudget() throws Exception {
+        assertBudget("/products?page=0&size=12", USER, customer.getId(), 1);
+        assertBudget("/products/" + products.get(0).getId(), USER, customer.getId(), 1);
+        assertBudget("/categories", USER, customer.getId(), 1);
+        assertBudget("/user/reviews/" + products.get(0).getId(), USER, customer.getId(), 1);
+    }
+
+    @Test
+    void customerEndpointsStayWithinBudget() throws Exception {
+        // Served from the hot cart tier once loaded
+        assertBudget("/user/cart", USER, customer.getId(), 0);
+        assertBudget("/user/orders", USER, customer.getId(), 1);
+        assertBudget("/user/orders/" + orderId, USER, customer.getId(), 1);
+        assertBudget("/user/orders/track/" + orderId, USER, customer.getId(), 2);
+        assertBudget("/user/wishlist", USER, customer.getId(), 1);
+        assertBudget("/user/recently-viewed", USER, customer.getId(), 1);
+        assertBudget("/user/addresses", USER, customer.getId(), 1);
+        assertBudget("/user/profile", USER, customer.getId(), 0);
+    }
+
+    @Test
+    void sellerEndpointsStayWithinBudget() throws Exception {
+        assertBudget("/seller/orders", SELLER, seller.getId(), 2);
+        assertBudget("/seller/products", SELLER, seller.getId(), 1);
+        assertBudget("/seller/dashboard", SELLER, seller.getId(), 2);
+        assertBudget("/seller/payouts", SELLER, seller.getId(), 1);
+    }
+
+    @Test
+    void adminEndpointsStayWithinBudget() throws Exception {
+        assertBudget("/admin/orders", ADMIN, admin.getId(), 1);
+        assertBudget("/admin/users", ADMIN, admin.getId(), 1);
+        assertBudget("/admin/categories", ADMIN, admin.getId(), 1);
+        assertBudget("/admin/payouts", ADMIN, admin.getId(), 1);
+        assertBudget("/admin/subscriptions", ADMIN, admin.getId(), 1);
+    }
+
+    // The first call warms the identity and count caches; the second is measured
+    private void assertBudget(String url, String header, Long id, int budget) throws Exception {
+        mockMvc.perform(get(url).header(header, id));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get(url).header(header, id)).andReturn();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(200, result.getResponse().getStatus(), url);
+        assertTrue(statements <= budget,
+                url + " ran " + statements + " statements, budget is " + budget);
+    }
+
+    private User createUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setName(email);
+        user.setRole(role);
+        user.setSellerVerified(role == UserRole.SELLER);
+        user.setCreatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
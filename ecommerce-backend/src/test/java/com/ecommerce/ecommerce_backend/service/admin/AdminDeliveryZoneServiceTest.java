@@ -0,0 +1,131 @@
+package com.ecommerce.ecommerce_backend.service.admin;
+
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.user.PincodeServiceabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // Own database: zones are global, shared only with PincodeServiceabilityIndexTest (disjoint pincodes)
+        "spring.datasource.url=jdbc:h2:mem:delivery-zone-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class AdminDeliveryZoneServiceTest {
+
+    @Autowired AdminDeliveryZoneService adminDeliveryZoneService;
+    @Autowired PincodeServiceabilityIndex serviceabilityIndex;
+    @Autowired UserRepository userRepository;
+
+    private User admin;
+
+    @BeforeEach
+    void loadAdmin() {
+        admin = userRepository.findByEmail("admin@ecommerce.com").orElseThrow();
+    }
+
+    @Test
+    void csvSkipsHeaderAndCommentsAndReportsBadLines() {
+        Map<String, Object> result = importCsv("""
+                pincode,pincodeEnd
+                # north zone
+
+                500001
+                500010,500020
+                500030,500025
+                1,2,3
+                ,500040
+                AB1,AB9
+                  SW1A 2AA \s
+                """);
+
+        assertEquals(10L, result.get("lines"));
+        assertEquals(3L, result.get("inserted"));
+        assertEquals(0L, result.get("skipped"));
+        assertEquals(4L, result.get("rejected"));
+        assertEquals(List.of(
+                "Line 6: Range start is after its end",
+                "Line 7: Expected pincode[,pincodeEnd]",
+                "Line 8: Pincode is required",
+                "Line 9: Range bounds must be numeric pincodes"), result.get("errors"));
+
+        assertTrue(serviceabilityIndex.isServiceable("500001"));
+        assertTrue(serviceabilityIndex.isServiceable("500010"));
+        assertTrue(serviceabilityIndex.isServiceable("500020"));
+        assertFalse(serviceabilityIndex.isServiceable("500021"));
+        assertFalse(serviceabilityIndex.isServiceable("500027"));
+        assertTrue(serviceabilityIndex.isServiceable("SW1A 2AA"));
+    }
+
+    @Test
+    void reimportingTheSameFileAddsNothing() {
+        String csv = """
+                520001,520050
+                520100
+                520100,520100
+                """;
+
+        Map<String, Object> first = importCsv(csv);
+        assertEquals(2L, first.get("inserted"));
+        assertEquals(1L, first.get("skipped"));
+        long size = serviceabilityIndex.size();
+
+        Map<String, Object> second = importCsv(csv);
+        assertEquals(0L, second.get("inserted"));
+        assertEquals(3L, second.get("skipped"));
+        assertEquals(0L, second.get("rejected"));
+        assertEquals(size, second.get("serviceablePincodes"));
+        assertEquals(size, serviceabilityIndex.size());
+    }
+
+    @Test
+    void ndjsonLinesAreParsedAndBadOnesRejected() {
+        Map<String, Object> result = adminDeliveryZoneService.importZones(admin, body("""
+                {"pincode": "510001", "pincodeEnd": "510005"}
+                {"pincode": 510010, "pincodeEnd": null}
+                not json
+                [510020]
+                {"pincodeEnd": "510030"}
+                """), true);
+
+        assertEquals(2L, result.get("inserted"));
+        assertEquals(3L, result.get("rejected"));
+        assertEquals(List.of(
+                "Line 3: Invalid JSON",
+                "Line 4: Expected a JSON object",
+                "Line 5: Pincode is required"), result.get("errors"));
+        assertTrue(serviceabilityIndex.isServiceable("510005"));
+        assertTrue(serviceabilityIndex.isServiceable("510010"));
+        assertFalse(serviceabilityIndex.isServiceable("510006"));
+    }
+
+    @Test
+    void onlyAdminsCanImport() {
+        User customer = userRepository.findByEmail("alice@example.com").orElseThrow();
+        assertThrows(RuntimeException.class,
+                () -> adminDeliveryZoneService.importZones(customer, body("530001\n"), false));
+        assertFalse(serviceabilityIndex.isServiceable("530001"));
+    }
+
+    private Map<String, Object> importCsv(String csv) {
+        return adminDeliveryZoneService.importZones(admin, body(csv), false);
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
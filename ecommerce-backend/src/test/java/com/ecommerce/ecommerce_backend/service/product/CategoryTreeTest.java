@@ -0,0 +1,215 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.ecommerce.ecommerce_backend.model.Category;
+import com.ecommerce.ecommerce_backend.model.Coupon;
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
+import com.ecommerce.ecommerce_backend.repository.CouponRepository;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.admin.AdminCategoryService;
+import com.ecommerce.ecommerce_backend.service.user.CouponEngine;
+import com.ecommerce.ecommerce_backend.service.user.CouponOptimizer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        // Own database: the nested categories and products here would leak into other test classes
+        "spring.datasource.url=jdbc:h2:mem:category-tree-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CategoryTreeTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired CategoryTree categoryTree;
+    @Autowired AdminCategoryService adminCategoryService;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired CouponRepository couponRepository;
+    @Autowired CouponEngine couponEngine;
+    @Autowired CouponOptimizer couponOptimizer;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    private User admin;
+    private User seller;
+
+    // root -> (a -> a1), b
+    private Category root;
+    private Category a;
+    private Category b;
+    private Category a1;
+
+    @BeforeAll
+    void createTree() {
+        admin = userRepository.findByEmail("admin@ecommerce.com").orElseThrow();
+
+        seller = new User();
+        seller.setEmail("tree-seller@test.com");
+        seller.setPassword("x");
+        seller.setName("tree-seller");
+        seller.setRole(UserRole.SELLER);
+        seller.setSellerVerified(true);
+        seller = userRepository.save(seller);
+
+        root = createCategory("Tree Root", null);
+        a = createCategory("Tree A", root);
+        b = createCategory("Tree B", root);
+        a1 = createCategory("Tree A1", a);
+        Category other = createCategory("Tree Other", null);
+
+        createProduct("Tree A1 item", a1);
+        createProduct("Tree B item", b);
+        createProduct("Tree Other item", other);
+    }
+
+    @Test
+    void subtreesAreNumberedByEulerTour() {
+        int left = categoryTree.subtreeRange(root.getId())[0];
+
+        // Children in id order: a (with a1) before b
+        assertArrayEquals(new int[]{left, left + 3}, categoryTree.subtreeRange(root.getId()));
+        assertArrayEquals(new int[]{left + 1, left + 2}, categoryTree.subtreeRange(a.getId()));
+        assertArrayEquals(new int[]{left + 2, left + 2}, categoryTree.subtreeRange(a1.getId()));
+        assertArrayEquals(new int[]{left + 3, left + 3}, categoryTree.subtreeRange(b.getId()));
+
+        // Written back for the product queries
+        Category stored = categoryRepository.findById(a.getId()).orElseThrow();
+        assertEquals(left + 1, stored.getTreeLeft());
+        assertEquals(left + 2, stored.getTreeRight());
+
+        assertTrue(categoryTree.isWithin(a1.getId(), root.getId()));
+        assertFalse(categoryTree.isWithin(root.getId(), a1.getId()));
+        assertFalse(categoryTree.isWithin(b.getId(), a.getId()));
+    }
+
+    @Test
+    void productFilterIncludesSubcategories() throws Exception {
+        mockMvc.perform(get("/products").param("categoryId", root.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(containsInAnyOrder("Tree A1 item", "Tree B item")));
+
+        mockMvc.perform(get("/products").param("categoryId", a.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(containsInAnyOrder("Tree A1 item")));
+    }
+
+    @Test
+    void categoryCannotMoveUnderItsOwnSubtree() {
+        Category moved = new Category();
+        moved.setName(root.getName());
+        moved.setParentCategory(a1);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> adminCategoryService.updateCategory(admin, root.getId(), moved));
+        assertEquals("Category cannot be moved under itself or its subcategories", e.getMessage());
+
+        moved.setParentCategory(root);
+        assertThrows(RuntimeException.class,
+                () -> adminCategoryService.updateCategory(admin, root.getId(), moved));
+
+        assertNull(categoryRepository.findById(root.getId()).orElseThrow().getParentCategory());
+    }
+
+    @Test
+    void cycleIsEnteredAtItsLowestId() {
+        Category first = createCategory("Tree Cycle 1", null);
+        Category second = createCategory("Tree Cycle 2", first);
+
+        // Written around the service, which would refuse the move
+        Category stored = categoryRepository.findById(first.getId()).orElseThrow();
+        stored.setParentCategory(second);
+        categoryRepository.save(stored);
+        categoryTree.rebuild();
+
+        assertTrue(categoryTree.isWithin(second.getId(), first.getId()));
+        assertFalse(categoryTree.isWithin(first.getId(), second.getId()));
+        assertNull(categoryTree.getCategory(first.getId()).getParentCategory());
+        assertEquals(first.getId(), categoryTree.getCategory(second.getId()).getParentCategory().getId());
+
+        stored.setParentCategory(null);
+        categoryRepository.save(stored);
+        categoryTree.rebuild();
+    }
+
+    @Test
+    void treeIsRebuiltOnlyAfterCommit() {
+        Category rolledBack = transactionTemplate.execute(status -> {
+            Category category = createCategory("Tree Rolled Back", root);
+            status.setRollbackOnly();
+            return category;
+        });
+
+        assertNull(categoryTree.subtreeRange(rolledBack.getId()));
+        // The root's subtree still ends at its last committed child
+        assertEquals(categoryTree.subtreeRange(b.getId())[1], categoryTree.subtreeRange(root.getId())[1]);
+    }
+
+    @Test
+    void categoryCouponCoversSubcategories() {
+        Coupon coupon = new Coupon();
+        coupon.setCode("TREE_A");
+        coupon.setDiscountType("FIXED");
+        coupon.setDiscountValue(100);
+        coupon.setMinOrderValue(0);
+        coupon.setCategoryId(a.getId());
+        coupon.setUsageLimit(100);
+        coupon.setActive(true);
+        couponRepository.save(coupon);
+        couponEngine.reload();
+
+        CouponOptimizer.Result inSubcategory = couponOptimizer.optimize(List.of("TREE_A"),
+                List.of(new CouponEngine.Line(seller.getId(), a1.getId(), 1000)));
+        assertEquals(100, inSubcategory.getDiscount());
+
+        CouponOptimizer.Result outside = couponOptimizer.optimize(List.of("TREE_A"),
+                List.of(new CouponEngine.Line(seller.getId(), b.getId(), 1000)));
+        assertTrue(outside.getCoupons().isEmpty());
+    }
+
+    private Category createCategory(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(name);
+        category.setParentCategory(parent);
+        return adminCategoryService.createCategory(admin, category);
+    }
+
+    private void createProduct(String name, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(100);
+        product.setStockQuantity(10);
+        // Past premium early access, so guests see it
+        product.setCreatedAt(LocalDateTime.now().minusDays(2));
+        product.setSeller(seller);
+        product.setCategory(category);
+        productRepository.save(product);
+    }
+}
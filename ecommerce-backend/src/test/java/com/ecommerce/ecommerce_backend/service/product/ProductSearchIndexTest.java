@@ -0,0 +1,118 @@
+package com.ecommerce.ecommerce_backend.service.product;
+
+import com.ecommerce.ecommerce_backend.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plain unit test: products are fed through index(), the repository is only used by rebuild()
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new ProductSearchIndex(null);
+    }
+
+    @Test
+    void everyTokenMustMatchAndOnlyTheLastIsAPrefix() {
+        index.index(product(1L, "Wireless Headphones", "Sony", "Noise cancelling"));
+        index.index(product(2L, "Wireless Mouse", "Logitech", "Compact"));
+        index.index(product(3L, "Wired Headphones", "Boat", "Tangle-free cable"));
+
+        assertEquals(List.of(1L), index.search("wireless headphones", 10));
+        assertEquals(List.of(1L), index.search("WIRELESS head", 10));
+        assertEquals(List.of(2L), index.search("mouse wireless", 10));
+        assertEquals(List.of(1L, 3L), index.search("headphones", 10));
+
+        // "wire" expands to wireless and wired as the last token, but must match exactly elsewhere
+        assertEquals(3, index.search("wire", 10).size());
+        assertTrue(index.search("wire mouse", 10).isEmpty());
+        assertTrue(index.search("wireless keyboard", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void fieldWeightsAndExactTermsRankFirst() {
+        index.index(product(1L, "Cotton Shirt", "Lamp Co", "Soft"));
+        index.index(product(2L, "Reading Light", "Philips", "A lamp for your desk"));
+        index.index(product(3L, "Desk Lamp", "Philips", "Dimmable"));
+
+        // Name (3) before brand (2) before description (1)
+        assertEquals(List.of(3L, 1L, 2L), index.search("lamp", 10));
+
+        index.index(product(4L, "Desktop Stand", "Ikea", "Steel"));
+        // An exact match of the last token scores above a prefix expansion of it
+        assertEquals(List.of(3L, 4L, 2L), index.search("desk", 10));
+    }
+
+    @Test
+    void limitKeepsTheBestMatchesInOrder() {
+        for (long id = 1; id <= 20; id++) {
+            index.index(product(id, "Gadget " + id, "Brand", "Plain"));
+        }
+        index.index(product(21L, "Gadget Gadget Pro", "Gadget", "Gadget"));
+
+        List<Long> top = index.search("gadget", 4);
+        // Ties fall back to indexing order
+        assertEquals(List.of(21L, 1L, 2L, 3L), top);
+        assertEquals(21, index.search("gadget", 100).size());
+        assertTrue(index.search("gadget", 0).isEmpty());
+    }
+
+    @Test
+    void updatesReplaceTheOldVersion() {
+        index.index(product(1L, "Red Kettle", "Prestige", "Steel"));
+        index.index(product(1L, "Blue Kettle", "Prestige", "Steel"));
+
+        assertTrue(index.search("red", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("blue kettle", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void deletesAreCompactedAway() {
+        int total = 2200;
+        for (long id = 1; id <= total; id++) {
+            index.index(product(id, "Widget sku" + id, "Acme", "Spare part"));
+        }
+
+        // Retire more than half the index (and over the 1024 minimum) to trigger compaction
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= total; id++) {
+            if (id % 2 == 0 || id > 2000) {
+                index.remove(id);
+            } else {
+                expected.add(id);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, index.search("widget", total));
+        assertTrue(index.search("sku2 widget", 10).isEmpty());
+        assertEquals(List.of(1999L), index.search("sku1999", 10));
+
+        // The compacted index keeps taking writes
+        index.index(product(3L, "Gizmo", "Acme", "Renamed"));
+        index.index(product(5000L, "Widget sku5000", "Acme", "New"));
+        assertEquals(List.of(3L), index.search("gizmo", 10));
+        assertTrue(index.search("sku3 widget", 10).isEmpty());
+        assertEquals(List.of(5000L), index.search("widget sku5000", 10));
+        assertEquals(expected.size() + 1, index.size());
+    }
+
+    private static Product product(Long id, String name, String brand, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setDescription(description);
+        return product;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.model.Coupon;
+import com.ecommerce.ecommerce_backend.repository.CouponRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class CouponEngineConcurrencyTest {
+
+    private static final int ATTEMPTS = 5000;
+    private static final int USAGE_LIMIT = 250;
+
+    @Autowired CouponEngine couponEngine;
+    @Autowired CouponRepository couponRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentRedemptionsNeverExceedUsageLimit() throws Exception {
+        createCoupon("FLASH250", USAGE_LIMIT, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicInteger rolledBack = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // Every tenth order fails after redeeming; its redemption must not count
+            boolean failOrder = i % 10 == 0;
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        CouponEngine.Evaluation evaluation = couponEngine.evaluate("flash250", 1000);
+                        if (evaluation.isValid() && couponEngine.redeem(evaluation)) {
+                            if (failOrder) {
+                                rolledBack.incrementAndGet();
+                                status.setRollbackOnly();
+                            } else {
+                                redeemed.incrementAndGet();
+                            }
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(USAGE_LIMIT, redeemed.get());
+        assertEquals(USAGE_LIMIT, couponRepository.findByCode("FLASH250").orElseThrow().getUsedCount());
+
+        CouponEngine.Evaluation exhausted = couponEngine.evaluate("FLASH250", 1000);
+        assertFalse(exhausted.isValid());
+        assertEquals("Coupon usage limit reached", exhausted.getMessage());
+    }
+
+    @Test
+    void evaluationChecksWindowAndMinimumOrderValue() {
+        LocalDateTime now = LocalDateTime.now();
+        createCoupon("LATER10", 10, now.plusDays(1), now.plusDays(2));
+        createCoupon("OLD10", 10, now.minusDays(2), now.minusDays(1));
+        createCoupon("NOW10", 10, now.minusDays(1), now.plusDays(1));
+
+        assertEquals("Coupon is not active yet", couponEngine.evaluate("LATER10", 1000).getMessage());
+        assertEquals("Coupon has expired", couponEngine.evaluate("OLD10", 1000).getMessage());
+        assertEquals("Invalid coupon code", couponEngine.evaluate("MISSING", 1000).getMessage());
+        assertFalse(couponEngine.evaluate("NOW10", 499).isValid());
+
+        // 10% of 1000, capped by maxDiscount
+        CouponEngine.Evaluation valid = couponEngine.evaluate(" now10 ", 1000);
+        assertTrue(valid.isValid());
+        assertEquals(50, valid.getDiscount());
+    }
+
+    private void createCoupon(String code, int usageLimit, LocalDateTime validFrom, LocalDateTime validUntil) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setDiscountType("PERCENTAGE");
+        coupon.setDiscountValue(10);
+        coupon.setMinOrderValue(500);
+        coupon.setMaxDiscount(50.0);
+        coupon.setValidFrom(validFrom);
+        coupon.setValidUntil(validUntil);
+        coupon.setUsageLimit(usageLimit);
+        coupon.setActive(true);
+        couponRepository.save(coupon);
+        couponEngine.reload();
+    }
+}
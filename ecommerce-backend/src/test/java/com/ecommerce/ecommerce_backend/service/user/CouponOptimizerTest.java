@@ -0,0 +1,118 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.model.Coupon;
+import com.ecommerce.ecommerce_backend.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class CouponOptimizerTest {
+
+    private static final long SELLER_A = 9001L;
+    private static final long SELLER_B = 9002L;
+
+    // One line per seller, 1000 each
+    private static final List<CouponEngine.Line> LINES = List.of(
+            new CouponEngine.Line(SELLER_A, null, 1000),
+            new CouponEngine.Line(SELLER_B, null, 1000));
+
+    @Autowired CouponOptimizer couponOptimizer;
+    @Autowired CouponEngine couponEngine;
+    @Autowired CouponRepository couponRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void createCoupons() {
+        if (couponRepository.findByCode("OPT_SELLER_A").isPresent()) {
+            return;
+        }
+        createCoupon("OPT_SELLER_A", 300, SELLER_A, 100);
+        createCoupon("OPT_SELLER_A_MORE", 350, SELLER_A, 100);
+        createCoupon("OPT_SELLER_B", 300, SELLER_B, 100);
+        createCoupon("OPT_CART_500", 500, null, 100);
+        couponEngine.reload();
+    }
+
+    @Test
+    void disjointScopedCouponsBeatOneCartWideCoupon() {
+        CouponOptimizer.Result best = couponOptimizer.optimize(
+                CouponOptimizer.parseCodes("opt_cart_500, OPT_SELLER_A,OPT_SELLER_B"), LINES);
+        assertEquals(600, best.getDiscount());
+        assertEquals("OPT_SELLER_A,OPT_SELLER_B", best.getCodes());
+
+        // Without the second seller coupon the cart-wide one is worth more
+        CouponOptimizer.Result cartWide = couponOptimizer.optimize(
+                CouponOptimizer.parseCodes("OPT_SELLER_A,OPT_CART_500"), LINES);
+        assertEquals(500, cartWide.getDiscount());
+        assertEquals("OPT_CART_500", cartWide.getCodes());
+    }
+
+    @Test
+    void couponsOnTheSameLineNeverStack() {
+        CouponOptimizer.Result best = couponOptimizer.optimize(
+                CouponOptimizer.parseCodes("OPT_SELLER_A,OPT_SELLER_A_MORE,OPT_SELLER_B"), LINES);
+        assertEquals(650, best.getDiscount());
+        assertEquals("OPT_SELLER_A_MORE,OPT_SELLER_B", best.getCodes());
+    }
+
+    @Test
+    void onlySuppliedCodesAreConsidered() {
+        CouponOptimizer.Result none = couponOptimizer.optimize(List.of(), LINES);
+        assertTrue(none.getCoupons().isEmpty());
+        assertNull(none.getCodes());
+
+        assertEquals(List.of("OPT_SELLER_B"), CouponOptimizer.parseCodes(" opt_seller_b, OPT_SELLER_B ,"));
+
+        CouponOptimizer.Result unknown = couponOptimizer.optimize(List.of("OPT_MISSING"), LINES);
+        assertTrue(unknown.getCoupons().isEmpty());
+        assertEquals("Invalid coupon code", unknown.getRejection());
+    }
+
+    @Test
+    void couponUsedUpSinceEvaluationIsSkipped() {
+        createCoupon("OPT_LAST_ONE", 400, SELLER_A, 1);
+        couponEngine.reload();
+
+        // Used up elsewhere after the engine loaded it
+        Coupon lastOne = couponRepository.findByCode("OPT_LAST_ONE").orElseThrow();
+        lastOne.setUsedCount(1);
+        couponRepository.save(lastOne);
+
+        CouponOptimizer.Result redeemed = transactionTemplate.execute(status -> {
+            CouponOptimizer.Result best = couponOptimizer.optimize(
+                    List.of("OPT_LAST_ONE", "OPT_SELLER_B"), LINES);
+            assertEquals("OPT_LAST_ONE,OPT_SELLER_B", best.getCodes());
+            return couponOptimizer.redeem(best);
+        });
+
+        assertEquals("OPT_SELLER_B", redeemed.getCodes());
+        assertEquals(300, redeemed.getDiscount());
+        assertEquals("Coupon usage limit reached", redeemed.getRejection());
+        assertEquals(1, couponRepository.findByCode("OPT_LAST_ONE").orElseThrow().getUsedCount());
+    }
+
+    private void createCoupon(String code, double flatDiscount, Long sellerId, int usageLimit) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setDiscountType("FIXED");
+        coupon.setDiscountValue(flatDiscount);
+        coupon.setMinOrderValue(0);
+        coupon.setSellerId(sellerId);
+        coupon.setUsageLimit(usageLimit);
+        coupon.setActive(true);
+        couponRepository.save(coupon);
+    }
+}
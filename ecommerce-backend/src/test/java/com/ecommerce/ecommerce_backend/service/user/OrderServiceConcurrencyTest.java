@@ -0,0 +1,165 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.OrderItemRepository;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.service.product.InventoryReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class OrderServiceConcurrencyTest {
+
+    private static final int BUYERS = 300;
+    private static final int HOT_STOCK = 100;
+    private static final int SIDE_STOCK = 1000;
+
+    @Autowired OrderService orderService;
+    @Autowired CartService cartService;
+    @Autowired InventoryReservationService inventoryReservationService;
+    @Autowired ProductRepository productRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired OrderItemRepository orderItemRepository;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        Product hot = createProduct("Flash Sale Item", HOT_STOCK);
+        Product side = createProduct("Side Item", SIDE_STOCK);
+
+        // Each buyer wants one hot unit plus one side unit, in varying line order
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = createBuyer("flash-buyer-" + i + "@test.com");
+            if (i % 2 == 0) {
+                cartService.addItem(buyer, hot.getId(), 1);
+                cartService.addItem(buyer, side.getId(), 1);
+            } else {
+                cartService.addItem(buyer, side.getId(), 1);
+                cartService.addItem(buyer, hot.getId(), 1);
+            }
+            buyers.add(buyer);
+        }
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        for (User buyer : buyers) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    orderService.placeOrder(buyer, null, null, "COD", null);
+                    placed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (e.getMessage() != null && e.getMessage().contains("Insufficient stock")) {
+                        soldOut.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(HOT_STOCK, placed.get());
+        assertEquals(BUYERS - HOT_STOCK, soldOut.get());
+
+        assertEquals(0, productRepository.findById(hot.getId()).orElseThrow().getStockQuantity());
+        assertEquals(SIDE_STOCK - HOT_STOCK, productRepository.findById(side.getId()).orElseThrow().getStockQuantity());
+
+        int hotUnitsSold = orderItemRepository.findAll().stream()
+                .filter(item -> item.getProduct().getId().equals(hot.getId()))
+                .mapToInt(item -> item.getQuantity())
+                .sum();
+        assertEquals(HOT_STOCK, hotUnitsSold);
+    }
+
+    @Test
+    void abandonedReservationIsReturnedBySweep() {
+        Product product = createProduct("Limited Item", 5);
+        User holder = createBuyer("holder@test.com");
+        User other = createBuyer("other@test.com");
+
+        inventoryReservationService.reserve(holder, Map.of(product.getId(), 5));
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+
+        // Held units are not available to anyone else
+        cartService.addItem(other, product.getId(), 1);
+        assertThrows(RuntimeException.class,
+                () -> orderService.placeOrder(other, null, null, "COD", null));
+
+        // Checkout abandoned: the sweep hands the units back once the hold expires
+        assertEquals(1, inventoryReservationService.releaseExpiredBefore(LocalDateTime.now().plusDays(1)));
+        assertEquals(5, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+
+        orderService.placeOrder(other, null, null, "COD", null);
+        assertEquals(4, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void placeOrderConsumesReservation() {
+        Product product = createProduct("Reserved Item", 3);
+        User buyer = createBuyer("reserver@test.com");
+
+        cartService.addItem(buyer, product.getId(), 2);
+        orderService.reserveCart(buyer);
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+
+        // The hold covers the order, so no further stock is taken
+        orderService.placeOrder(buyer, null, null, "COD", null);
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(0, inventoryReservationService.releaseExpiredBefore(LocalDateTime.now().plusDays(1)));
+    }
+
+    private Product createProduct(String name, int stock) {
+        Product template = productRepository.findAll().get(0);
+
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(100);
+        product.setStockQuantity(stock);
+        product.setSeller(template.getSeller());
+        product.setCategory(template.getCategory());
+        return productRepository.save(product);
+    }
+
+    private User createBuyer(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setName(email);
+        user.setRole(UserRole.CUSTOMER);
+        user.setCreatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
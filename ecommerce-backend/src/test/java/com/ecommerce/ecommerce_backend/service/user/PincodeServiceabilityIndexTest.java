@@ -0,0 +1,115 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.model.DeliveryZone;
+import com.ecommerce.ecommerce_backend.repository.DeliveryZoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // Own database: zones are global, shared only with AdminDeliveryZoneServiceTest (disjoint pincodes)
+        "spring.datasource.url=jdbc:h2:mem:delivery-zone-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class PincodeServiceabilityIndexTest {
+
+    @Autowired PincodeServiceabilityIndex serviceabilityIndex;
+    @Autowired DeliveryZoneRepository deliveryZoneRepository;
+
+    @Test
+    void overlappingAndAdjacentRangesAreMerged() {
+        int intervals = serviceabilityIndex.intervalCount();
+        long size = serviceabilityIndex.size();
+
+        // 200010..200040 from an overlap and an adjacent range, 200050..200051 from two adjacent singles
+        saveZone("200015", "200030");
+        saveZone("200010", "200020");
+        saveZone("200031", "200040");
+        saveZone("200051", null);
+        saveZone("200050", null);
+        saveZone("200012", "200012");
+        serviceabilityIndex.rebuild();
+
+        assertEquals(intervals + 2, serviceabilityIndex.intervalCount());
+        assertEquals(size + 31 + 2, serviceabilityIndex.size());
+
+        assertFalse(serviceabilityIndex.isServiceable("200009"));
+        assertTrue(serviceabilityIndex.isServiceable("200010"));
+        assertTrue(serviceabilityIndex.isServiceable("200030"));
+        assertTrue(serviceabilityIndex.isServiceable("200031"));
+        assertTrue(serviceabilityIndex.isServiceable(" 200040 "));
+        assertFalse(serviceabilityIndex.isServiceable("200041"));
+        assertFalse(serviceabilityIndex.isServiceable("200049"));
+        assertTrue(serviceabilityIndex.isServiceable("200050"));
+        assertTrue(serviceabilityIndex.isServiceable("200051"));
+        assertFalse(serviceabilityIndex.isServiceable("200052"));
+    }
+
+    @Test
+    void nonNumericPincodesMatchExactly() {
+        saveZone("SW1A 1AA", null);
+        saveZone("020001", null);
+        saveZone("2000001", null);
+        serviceabilityIndex.rebuild();
+
+        assertTrue(serviceabilityIndex.isServiceable("SW1A 1AA"));
+        assertFalse(serviceabilityIndex.isServiceable("sw1a 1aa"));
+        // A leading zero or a seventh digit keeps a pincode out of the numeric ranges
+        assertTrue(serviceabilityIndex.isServiceable("020001"));
+        assertFalse(serviceabilityIndex.isServiceable("20001"));
+        assertTrue(serviceabilityIndex.isServiceable("2000001"));
+        assertFalse(serviceabilityIndex.isServiceable(null));
+        assertFalse(serviceabilityIndex.isServiceable("  "));
+
+        assertEquals(-1, PincodeServiceabilityIndex.numericPincode("020001"));
+        assertEquals(-1, PincodeServiceabilityIndex.numericPincode("2000001"));
+        assertEquals(-1, PincodeServiceabilityIndex.numericPincode("20A001"));
+        assertEquals(200001, PincodeServiceabilityIndex.numericPincode(" 200001 "));
+    }
+
+    @Test
+    void malformedAndInactiveZonesAreIgnored() {
+        int intervals = serviceabilityIndex.intervalCount();
+
+        // Written around the service, which would reject them
+        saveZone("200300", "200200");
+        saveZone("AB1", "AB9");
+        DeliveryZone inactive = saveZone("200400", "200410");
+        inactive.setActive(false);
+        deliveryZoneRepository.save(inactive);
+        serviceabilityIndex.rebuild();
+
+        assertEquals(intervals, serviceabilityIndex.intervalCount());
+        assertFalse(serviceabilityIndex.isServiceable("200250"));
+        assertFalse(serviceabilityIndex.isServiceable("AB1"));
+        assertFalse(serviceabilityIndex.isServiceable("200405"));
+    }
+
+    @Test
+    void batchLookupKeepsInputOrder() {
+        saveZone("200500", "200510");
+        serviceabilityIndex.rebuild();
+
+        Map<String, Boolean> result = serviceabilityIndex.areServiceable(Arrays.asList("200511", null, "200505", "200500"));
+        assertEquals(List.of("200511", "200505", "200500"), List.copyOf(result.keySet()));
+        assertEquals(List.of(false, true, true), List.copyOf(result.values()));
+    }
+
+    private DeliveryZone saveZone(String pincode, String pincodeEnd) {
+        DeliveryZone zone = new DeliveryZone();
+        zone.setPincode(pincode);
+        zone.setPincodeEnd(pincodeEnd);
+        zone.setActive(true);
+        return deliveryZoneRepository.save(zone);
+    }
+}
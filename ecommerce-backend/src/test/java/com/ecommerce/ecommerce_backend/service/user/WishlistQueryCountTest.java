@@ -0,0 +1,111 @@
+package com.ecommerce.ecommerce_backend.service.user;
+
+import com.ecommerce.ecommerce_backend.dto.wishlist.WishlistItemDTO;
+import com.ecommerce.ecommerce_backend.enums.UserRole;
+import com.ecommerce.ecommerce_backend.model.Product;
+import com.ecommerce.ecommerce_backend.model.User;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class WishlistQueryCountTest {
+
+    @Autowired WishlistService wishlistService;
+    @Autowired ProductRepository productRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void wishlistPageIsOneQueryRegardlessOfSize() {
+        List<Long> productIds = createProducts(120);
+
+        for (int wishlistSize : new int[]{1, 10, 120}) {
+            User user = createUser("wishlist-" + wishlistSize + "@test.com");
+            wishlistService.addToWishlist(user, productIds.subList(0, wishlistSize));
+
+            long statements = countStatements(() -> wishlistService.getWishlistItems(user, 0, 50));
+            assertEquals(1, statements, "wishlist of " + wishlistSize);
+        }
+    }
+
+    @Test
+    void wishlistPagesCarryProductAndCategoryColumns() {
+        List<Long> productIds = createProducts(3);
+        User user = createUser("wishlist-pages@test.com");
+        wishlistService.addToWishlist(user, productIds);
+
+        Slice<WishlistItemDTO> first = wishlistService.getWishlistItems(user, 0, 2);
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(productIds.get(0), first.getContent().get(0).getProductId());
+        assertEquals("Wishlist Item 0", first.getContent().get(0).getProductName());
+
+        Product template = productRepository.findListingByIdIn(List.of(productIds.get(0))).get(0);
+        String expectedCategory = template.getCategory() != null ? template.getCategory().getName() : null;
+        assertEquals(expectedCategory, first.getContent().get(0).getCategoryName());
+
+        Slice<WishlistItemDTO> second = wishlistService.getWishlistItems(user, 1, 2);
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+        assertEquals(productIds.get(2), second.getContent().get(0).getProductId());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> createProducts(int count) {
+        Product template = productRepository.findAll().get(0);
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Wishlist Item " + i);
+            product.setPrice(100 + i);
+            product.setStockQuantity(10);
+            product.setSeller(template.getSeller());
+            product.setCategory(template.getCategory());
+            products.add(product);
+        }
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Product product : productRepository.saveAll(products)) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setName(email);
+        user.setRole(UserRole.CUSTOMER);
+        user.setCreatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}